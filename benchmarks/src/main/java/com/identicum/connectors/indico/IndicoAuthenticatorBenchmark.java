@@ -0,0 +1,73 @@
+package com.identicum.connectors.indico;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.security.GuardedString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-request authentication work: HMAC signing of API key requests and header construction for token requests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndicoAuthenticatorBenchmark {
+
+    private static final String PATH = "/export/registrants/12345.json";
+
+    private IndicoAuthenticator apiKeyAuthenticator;
+    private IndicoAuthenticator tokenAuthenticator;
+    private Map<String, String> parameters;
+
+    @Setup
+    public void setUp() {
+        IndicoConfiguration apiKey = configuration(IndicoConfiguration.AuthStrategy.API_KEY);
+        apiKey.setApiKey("0f3c5a4e-2d1b-4c8a-9e7f-6b5d4c3b2a19");
+        apiKey.setApiSecret(new GuardedString("b2c9e1d0-7a6f-4e3d-8c2b-1a0f9e8d7c6b".toCharArray()));
+        apiKeyAuthenticator = new IndicoAuthenticator(apiKey);
+
+        IndicoConfiguration token = configuration(IndicoConfiguration.AuthStrategy.TOKEN);
+        token.setApiToken(new GuardedString("indico-personal-token-0123456789abcdef".toCharArray()));
+        tokenAuthenticator = new IndicoAuthenticator(token);
+
+        parameters = new LinkedHashMap<>();
+        parameters.put("limit", "200");
+        parameters.put("page", "eyJvZmZzZXQiOiA0MDB9");
+        parameters.put("email", "registrant42@example.org");
+    }
+
+    @Benchmark
+    public Map<String, String> enrichQueryParametersSigned() {
+        return apiKeyAuthenticator.enrichQueryParameters(PATH, parameters);
+    }
+
+    @Benchmark
+    public Map<String, String> enrichQueryParametersToken() {
+        return tokenAuthenticator.enrichQueryParameters(PATH, parameters);
+    }
+
+    @Benchmark
+    public Map<String, String> defaultHeadersToken() {
+        return tokenAuthenticator.defaultHeaders();
+    }
+
+    private static IndicoConfiguration configuration(IndicoConfiguration.AuthStrategy strategy) {
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setServiceAddress("https://indico.example.org/");
+        configuration.setAuthStrategy(strategy);
+        return configuration;
+    }
+}
@@ -0,0 +1,120 @@
+package com.identicum.connectors.indico.concurrent;
+
+import com.identicum.connectors.indico.IndicoAuthenticator;
+import com.identicum.connectors.indico.IndicoConfiguration;
+import com.identicum.connectors.indico.http.IndicoHttpClient;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.security.GuardedString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test comparing platform and virtual thread execution: a burst of concurrent registrant fetches against
+ * a local server that answers after a fixed latency. On JDKs before 21 both modes use platform threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final byte[] BODY = "{\"registrants\": [{\"id\": \"R1\", \"email\": \"a@example.org\"}]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"256"})
+    public int concurrentFetches;
+
+    @Param({"20"})
+    public int latencyMs;
+
+    /** Platform pool size, matching the connector's default HTTP client pool and a typical fan-out. */
+    @Param({"16"})
+    public int platformThreads;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ExecutorService fanOut;
+    private IndicoHttpClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverThreads = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1_024);
+        server.setExecutor(serverThreads);
+        server.createContext("/export/registrants/", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.start();
+
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setServiceAddress("http://127.0.0.1:" + server.getAddress().getPort());
+        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.TOKEN);
+        configuration.setApiToken(new GuardedString("token".toCharArray()));
+        configuration.setHttp2Enabled(false);
+        configuration.setMaxRequestsPerSecond(0);
+        configuration.setHttpClientThreads(platformThreads);
+        configuration.setVirtualThreadsEnabled(virtualThreads);
+        configuration.validate();
+        client = new IndicoHttpClient(configuration, new IndicoAuthenticator(configuration));
+        fanOut = WorkerExecutors.bounded("bench-fanout", platformThreads, virtualThreads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fanOut.shutdownNow();
+        client.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public int fetchBurst() throws InterruptedException, ExecutionException {
+        List<Future<Integer>> futures = new ArrayList<>(concurrentFetches);
+        for (int i = 0; i < concurrentFetches; i++) {
+            String path = "/export/registrants/" + i + ".json";
+            futures.add(fanOut.submit(() -> client.get(path, Map.of("limit", "1")).length()));
+        }
+        int bytes = 0;
+        for (Future<Integer> future : futures) {
+            bytes += future.get();
+        }
+        return bytes;
+    }
+}
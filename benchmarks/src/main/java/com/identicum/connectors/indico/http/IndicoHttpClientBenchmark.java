@@ -0,0 +1,54 @@
+package com.identicum.connectors.indico.http;
+
+import com.identicum.connectors.indico.IndicoAuthenticator;
+import com.identicum.connectors.indico.IndicoConfiguration;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.security.GuardedString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Request URI construction for a signed registrant page request. Lives in the client's package to reach the
+ * package-private request templates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndicoHttpClientBenchmark {
+
+    private static final String PATH = "/export/registrants/12345.json";
+
+    private RequestTemplate template;
+    private Map<String, String> paging;
+
+    @Setup
+    public void setUp() {
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setServiceAddress("https://indico.example.org/");
+        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.API_KEY);
+        configuration.setApiKey("0f3c5a4e-2d1b-4c8a-9e7f-6b5d4c3b2a19");
+        configuration.setApiSecret(new GuardedString("b2c9e1d0-7a6f-4e3d-8c2b-1a0f9e8d7c6b".toCharArray()));
+        IndicoAuthenticator authenticator = new IndicoAuthenticator(configuration);
+        template = new IndicoHttpClient(configuration, authenticator)
+                .template(PATH, Map.of("email", "registrant42+tag@example.org"));
+        paging = Map.of("limit", "200", "page", "eyJvZmZzZXQiOiA0MDB9");
+    }
+
+    @Benchmark
+    public URI buildUri() {
+        return template.uri(paging);
+    }
+}
@@ -0,0 +1,61 @@
+package com.identicum.connectors.indico.mapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates registrant export payloads shaped like the Indico {@code /export/registrants} responses.
+ */
+public final class RegistrantPayloads {
+
+    private static final String[] STATES = {"complete", "pending", "withdrawn", "unpaid"};
+
+    private RegistrantPayloads() {
+    }
+
+    /**
+     * Builds a page of {@code count} registrants. With {@code withPerson} names and email live in a nested
+     * {@code person} object instead of at the top level, as in exports of events with linked user accounts.
+     */
+    public static byte[] page(int count, boolean withPerson) {
+        StringBuilder json = new StringBuilder(count * (withPerson ? 420 : 360) + 64);
+        json.append("{\"registrants\": [");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendRegistrant(json, i, withPerson);
+        }
+        json.append("], \"paging\": {\"next_page_token\": null}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendRegistrant(StringBuilder json, int i, boolean withPerson) {
+        String firstName = "First" + i;
+        String lastName = "Läst-" + (i * 7919 % 100_003);
+        String email = "registrant" + i + "@example.org";
+        json.append("{\"id\": ").append(100_000 + i)
+                .append(", \"registration_id\": \"").append(100_000 + i).append('"')
+                .append(", \"state\": \"").append(STATES[i % STATES.length]).append('"')
+                .append(", \"checked_in\": ").append(i % 3 == 0)
+                .append(", \"paid\": ").append(i % 2 == 0 ? "true" : "\"false\"")
+                .append(", \"registration_date\": \"2024-0").append(1 + i % 9).append("-1").append(i % 10)
+                .append("T09:").append(10 + i % 50).append(":00+00:00\"")
+                .append(", \"modification_date\": \"2024-1").append(i % 3).append("-0").append(1 + i % 9)
+                .append("T17:").append(10 + i % 50).append(":30.123456+00:00\"")
+                .append(", \"fields\": {\"affiliation\": \"Institute ").append(i % 250)
+                .append("\", \"dietary\": [\"none\"], \"accommodation\": {\"nights\": ").append(i % 5).append("}}");
+        if (withPerson) {
+            json.append(", \"person\": {\"full_name\": \"").append(firstName).append(' ').append(lastName)
+                    .append("\", \"first_name\": \"").append(firstName)
+                    .append("\", \"last_name\": \"").append(lastName)
+                    .append("\", \"email\": \"").append(email)
+                    .append("\", \"affiliation\": \"Institute ").append(i % 250).append("\"}");
+        } else {
+            json.append(", \"full_name\": \"").append(firstName).append(' ').append(lastName)
+                    .append("\", \"first_name\": \"").append(firstName)
+                    .append("\", \"last_name\": \"").append(lastName)
+                    .append("\", \"email\": \"").append(email).append('"');
+        }
+        json.append('}');
+    }
+}
@@ -0,0 +1,62 @@
+package com.identicum.connectors.indico.mapper;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parses registrant pages from a byte stream, as {@code RegistrationService} does with response bodies, and maps
+ * the parsed records to connector objects.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationMapperBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    private int records;
+
+    @Param({"false", "true"})
+    private boolean withPerson;
+
+    private final RegistrationMapper mapper = new RegistrationMapper();
+    private byte[] payload;
+    private List<RegistrationRecord> parsed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        payload = RegistrantPayloads.page(records, withPerson);
+        parsed = mapper.mapPage(new ByteArrayInputStream(payload), 1L).getRecords();
+    }
+
+    @Benchmark
+    public RegistrationPage mapPage() throws IOException {
+        return mapper.mapPage(new ByteArrayInputStream(payload), 1L);
+    }
+
+    @Benchmark
+    public void toConnectorObject(Blackhole blackhole) {
+        for (RegistrationRecord record : parsed) {
+            blackhole.consume(mapper.toConnectorObject(record));
+        }
+    }
+}
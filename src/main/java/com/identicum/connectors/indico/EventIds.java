@@ -0,0 +1,75 @@
+package com.identicum.connectors.indico;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses event identifier lists such as {@code "101, 105-110"} from configuration values and operation options.
+ */
+final class EventIds {
+
+    static final int MAX_EVENTS = 10_000;
+
+    private EventIds() {
+    }
+
+    static List<Long> parse(Object value) {
+        Set<Long> ids = new LinkedHashSet<>();
+        collect(value, ids);
+        if (ids.size() > MAX_EVENTS) {
+            throw new IllegalArgumentException("At most " + MAX_EVENTS + " event identifiers can be searched at once");
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static void collect(Object value, Set<Long> ids) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number) {
+            ids.add(((Number) value).longValue());
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                collect(element, ids);
+            }
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                collect(element, ids);
+            }
+        } else if (value instanceof long[]) {
+            for (long element : (long[]) value) {
+                ids.add(element);
+            }
+        } else {
+            for (String token : value.toString().split("[,;\\s]+")) {
+                collectToken(token.trim(), ids);
+            }
+        }
+    }
+
+    private static void collectToken(String token, Set<Long> ids) {
+        if (token.isEmpty()) {
+            return;
+        }
+        int dash = token.indexOf('-', 1);
+        try {
+            if (dash < 0) {
+                ids.add(Long.parseLong(token));
+                return;
+            }
+            long from = Long.parseLong(token.substring(0, dash).trim());
+            long to = Long.parseLong(token.substring(dash + 1).trim());
+            if (to < from || to - from >= MAX_EVENTS) {
+                throw new IllegalArgumentException("Invalid event identifier range: " + token);
+            }
+            for (long id = from; id <= to; id++) {
+                ids.add(id);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid event identifier: " + token, e);
+        }
+    }
+}
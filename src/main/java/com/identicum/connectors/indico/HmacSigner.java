@@ -0,0 +1,180 @@
+package com.identicum.connectors.indico;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+
+/**
+ * HMAC-SHA256 request signer for API key authentication. The key is derived once; initialized {@link Mac}s and
+ * reusable canonicalization buffers are pooled rather than kept per thread, so signing from short-lived or virtual
+ * threads reuses them too and a signature costs little more than the returned string.
+ */
+final class HmacSigner {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64 = Base64.getEncoder();
+
+    /** Workspaces kept once a burst of concurrent signing is over; any beyond are left to the collector. */
+    private static final int MAX_IDLE_WORKSPACES = 64;
+
+    private final SecretKeySpec key;
+    private final Queue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleWorkspaces = new AtomicInteger();
+
+    private HmacSigner(byte[] secret) {
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Derives a signer from the secret without materializing it as a {@code String}. Returns {@code null} for a
+     * missing or empty secret.
+     */
+    static HmacSigner of(GuardedString secret) {
+        if (secret == null) {
+            return null;
+        }
+        byte[][] encoded = new byte[1][];
+        secret.access(chars -> {
+            if (chars.length > 0) {
+                ByteBuffer buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(chars));
+                encoded[0] = Arrays.copyOf(buffer.array(), buffer.limit());
+                Arrays.fill(buffer.array(), (byte) 0);
+            }
+        });
+        if (encoded[0] == null) {
+            return null;
+        }
+        try {
+            return new HmacSigner(encoded[0]);
+        } finally {
+            Arrays.fill(encoded[0], (byte) 0);
+        }
+    }
+
+    /**
+     * Signs {@code path?k1=v1&k2=v2...} with the parameters sorted by name.
+     */
+    String sign(String path, Map<String, String> parameters) {
+        Workspace workspace = acquire();
+        try {
+            return sign(workspace, path, parameters);
+        } finally {
+            release(workspace);
+        }
+    }
+
+    int idleWorkspaces() {
+        return idleWorkspaces.get();
+    }
+
+    private static String sign(Workspace workspace, String path, Map<String, String> parameters) {
+        String[] names = workspace.names(parameters.size());
+        int count = 0;
+        for (String name : parameters.keySet()) {
+            names[count++] = name;
+        }
+        Arrays.sort(names, 0, count);
+        StringBuilder canonical = workspace.canonical;
+        canonical.setLength(0);
+        canonical.append(path).append('?');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                canonical.append('&');
+            }
+            canonical.append(names[i]).append('=').append(parameters.get(names[i]));
+        }
+        Arrays.fill(names, 0, count, null);
+        try {
+            workspace.mac.update(workspace.encode(canonical));
+            workspace.mac.doFinal(workspace.digest, 0);
+        } catch (GeneralSecurityException e) {
+            workspace.mac.reset();
+            throw ConnectorException.wrap(e);
+        }
+        int length = BASE64.encode(workspace.digest, workspace.base64);
+        return new String(workspace.base64, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private Workspace acquire() {
+        Workspace workspace = workspaces.poll();
+        if (workspace == null) {
+            return newWorkspace();
+        }
+        idleWorkspaces.decrementAndGet();
+        return workspace;
+    }
+
+    private void release(Workspace workspace) {
+        if (idleWorkspaces.incrementAndGet() <= MAX_IDLE_WORKSPACES) {
+            workspaces.offer(workspace);
+        } else {
+            idleWorkspaces.decrementAndGet();
+        }
+    }
+
+    private Workspace newWorkspace() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return new Workspace(mac);
+        } catch (GeneralSecurityException e) {
+            throw ConnectorException.wrap(e);
+        }
+    }
+
+    private static final class Workspace {
+
+        private final Mac mac;
+        private final byte[] digest;
+        private final byte[] base64;
+        private final StringBuilder canonical = new StringBuilder(256);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private ByteBuffer bytes = ByteBuffer.allocate(512);
+        private String[] names = new String[8];
+
+        Workspace(Mac mac) {
+            this.mac = mac;
+            this.digest = new byte[mac.getMacLength()];
+            this.base64 = new byte[4 * ((digest.length + 2) / 3)];
+        }
+
+        String[] names(int size) {
+            if (names.length < size) {
+                names = new String[Math.max(size, names.length * 2)];
+            }
+            return names;
+        }
+
+        ByteBuffer encode(CharSequence text) {
+            while (true) {
+                encoder.reset();
+                bytes.clear();
+                CoderResult result = encoder.encode(CharBuffer.wrap(text), bytes, true);
+                if (!result.isOverflow()) {
+                    result = encoder.flush(bytes);
+                }
+                if (!result.isOverflow()) {
+                    bytes.flip();
+                    return bytes;
+                }
+                bytes = ByteBuffer.allocate(bytes.capacity() * 2);
+            }
+        }
+    }
+}
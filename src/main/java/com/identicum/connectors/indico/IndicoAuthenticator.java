@@ -1,17 +1,13 @@
 package com.identicum.connectors.indico;
 
+import com.identicum.connectors.indico.metrics.SigningEvent;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.time.Instant;
-import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 
 import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
@@ -21,28 +17,42 @@ import org.identityconnectors.framework.common.exceptions.ConnectorException;
  */
 public class IndicoAuthenticator {
 
-    private static final String HMAC_ALGORITHM = "HmacSHA256";
-
     private final IndicoConfiguration configuration;
+    private final HmacSigner signer;
 
     public IndicoAuthenticator(IndicoConfiguration configuration) {
         this.configuration = configuration;
+        this.signer = configuration.getAuthStrategy() == IndicoConfiguration.AuthStrategy.API_KEY
+                ? HmacSigner.of(configuration.getApiSecret()) : null;
     }
 
     public Map<String, String> enrichQueryParameters(String path, Map<String, String> originalParameters) {
         Map<String, String> parameters = new LinkedHashMap<>(originalParameters);
         if (configuration.getAuthStrategy() == IndicoConfiguration.AuthStrategy.API_KEY) {
             parameters.put("apikey", configuration.getApiKey());
-            String secret = read(configuration.getApiSecret());
-            if (secret != null && !secret.isEmpty()) {
+            if (signer != null) {
                 parameters.putIfAbsent("timestamp", String.valueOf(Instant.now().getEpochSecond()));
-                String signature = sign(path, parameters, secret);
+                SigningEvent event = new SigningEvent();
+                event.begin();
+                String signature = signer.sign(path, parameters);
+                if (event.shouldCommit()) {
+                    event.path = path;
+                    event.parameters = parameters.size();
+                    event.commit();
+                }
                 parameters.put("signature", signature);
             }
         }
         return parameters;
     }
 
+    /**
+     * Whether {@link #enrichQueryParameters} adds anything; token authentication travels in headers only.
+     */
+    public boolean addsQueryParameters() {
+        return configuration.getAuthStrategy() == IndicoConfiguration.AuthStrategy.API_KEY;
+    }
+
     public Map<String, String> defaultHeaders() {
         Map<String, String> headers = new LinkedHashMap<>();
         headers.put("User-Agent", "connector-indico/0.0.1");
@@ -55,22 +65,37 @@ public class IndicoAuthenticator {
         return headers;
     }
 
-    private String sign(String path, Map<String, String> params, String secret) {
+    /**
+     * Stable, non-reversible identifier of the configured credentials, used to partition shared caches.
+     */
+    public String credentialFingerprint() {
         try {
-            TreeMap<String, String> sorted = new TreeMap<>(params);
-            String canonical = sorted.entrySet().stream()
-                    .map(entry -> entry.getKey() + "=" + entry.getValue())
-                    .collect(Collectors.joining("&"));
-            String payload = path + "?" + canonical;
-            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
-            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
-            byte[] raw = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(raw);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(configuration.getAuthStrategy().name().getBytes(StandardCharsets.UTF_8));
+            if (configuration.getAuthStrategy() == IndicoConfiguration.AuthStrategy.TOKEN) {
+                update(digest, read(configuration.getApiToken()));
+            } else {
+                update(digest, configuration.getApiKey());
+                update(digest, read(configuration.getApiSecret()));
+            }
+            byte[] hash = digest.digest();
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+            }
+            return hex.toString();
         } catch (GeneralSecurityException e) {
             throw ConnectorException.wrap(e);
         }
     }
 
+    private static void update(MessageDigest digest, String value) {
+        digest.update((byte) 0);
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     private String read(GuardedString guarded) {
         if (guarded == null) {
             return null;
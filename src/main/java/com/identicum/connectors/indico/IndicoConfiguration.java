@@ -1,5 +1,7 @@
 package com.identicum.connectors.indico;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -26,10 +28,39 @@ public class IndicoConfiguration implements Configuration {
     private Integer connectTimeoutMs = 10_000;
     private Integer readTimeoutMs = 30_000;
     private boolean trustAllCertificates;
+    private boolean compressionEnabled = true;
+    private boolean http2Enabled = true;
     private Integer retryMax = 3;
     private Long retryBackoffBaseMs = 1_000L;
     private Long defaultEventId;
     private Integer pageSize = 200;
+    private Integer prefetchDepth = 0;
+    private String[] eventIds;
+    private Integer eventFetchConcurrency = 4;
+    private Long categoryId;
+    private Integer categoryCacheTtlSeconds = 900;
+    private Integer pageCacheTtlSeconds = 0;
+    private Integer pageCacheMaxEntries = 1_000;
+    private Long pageCacheMaxBytes = 64L * 1024 * 1024;
+    private String responseCacheDirectory;
+    private Long responseCacheMaxBytes = 256L * 1024 * 1024;
+    private Integer replicaRefreshSeconds = 0;
+    private Integer replicaMaxStalenessSeconds = 3_600;
+    private Integer maxRequestsPerSecond = 0;
+    private Integer circuitBreakerFailureThreshold = 5;
+    private Integer circuitBreakerOpenSeconds = 30;
+    private Integer retryBudgetPercent = 20;
+    private Integer httpClientThreads = 4;
+    private boolean prewarmConnections;
+    private Integer checkAliveIntervalSeconds = 60;
+    private boolean asyncFetchEnabled;
+    private boolean virtualThreadsEnabled;
+    private Integer slowSearchThresholdMillis = 30000;
+    private boolean adaptivePageSizeEnabled;
+    private Integer pageSizeMin = 50;
+    private Integer pageSizeMax = 2000;
+    private Integer targetPageLatencyMillis = 2000;
+    private Long targetPageBytes = 4L * 1024 * 1024;
     private ConnectorMessages connectorMessages;
 
     @ConfigurationProperty(order = 10,
@@ -168,6 +199,325 @@ public class IndicoConfiguration implements Configuration {
         this.pageSize = pageSize;
     }
 
+    @ConfigurationProperty(order = 130,
+            displayMessageKey = "indico.config.prefetchDepth.display",
+            helpMessageKey = "indico.config.prefetchDepth.help")
+    public Integer getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    public void setPrefetchDepth(Integer prefetchDepth) {
+        this.prefetchDepth = prefetchDepth;
+    }
+
+    @ConfigurationProperty(order = 140,
+            displayMessageKey = "indico.config.eventIds.display",
+            helpMessageKey = "indico.config.eventIds.help")
+    public String[] getEventIds() {
+        return eventIds;
+    }
+
+    public void setEventIds(String[] eventIds) {
+        this.eventIds = eventIds;
+    }
+
+    @ConfigurationProperty(order = 150,
+            displayMessageKey = "indico.config.eventFetchConcurrency.display",
+            helpMessageKey = "indico.config.eventFetchConcurrency.help")
+    public Integer getEventFetchConcurrency() {
+        return eventFetchConcurrency;
+    }
+
+    public void setEventFetchConcurrency(Integer eventFetchConcurrency) {
+        this.eventFetchConcurrency = eventFetchConcurrency;
+    }
+
+    @ConfigurationProperty(order = 160,
+            displayMessageKey = "indico.config.categoryId.display",
+            helpMessageKey = "indico.config.categoryId.help")
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    @ConfigurationProperty(order = 170,
+            displayMessageKey = "indico.config.categoryCacheTtl.display",
+            helpMessageKey = "indico.config.categoryCacheTtl.help")
+    public Integer getCategoryCacheTtlSeconds() {
+        return categoryCacheTtlSeconds;
+    }
+
+    public void setCategoryCacheTtlSeconds(Integer categoryCacheTtlSeconds) {
+        this.categoryCacheTtlSeconds = categoryCacheTtlSeconds;
+    }
+
+    @ConfigurationProperty(order = 180,
+            displayMessageKey = "indico.config.pageCacheTtl.display",
+            helpMessageKey = "indico.config.pageCacheTtl.help")
+    public Integer getPageCacheTtlSeconds() {
+        return pageCacheTtlSeconds;
+    }
+
+    public void setPageCacheTtlSeconds(Integer pageCacheTtlSeconds) {
+        this.pageCacheTtlSeconds = pageCacheTtlSeconds;
+    }
+
+    @ConfigurationProperty(order = 190,
+            displayMessageKey = "indico.config.pageCacheMaxEntries.display",
+            helpMessageKey = "indico.config.pageCacheMaxEntries.help")
+    public Integer getPageCacheMaxEntries() {
+        return pageCacheMaxEntries;
+    }
+
+    public void setPageCacheMaxEntries(Integer pageCacheMaxEntries) {
+        this.pageCacheMaxEntries = pageCacheMaxEntries;
+    }
+
+    @ConfigurationProperty(order = 200,
+            displayMessageKey = "indico.config.pageCacheMaxBytes.display",
+            helpMessageKey = "indico.config.pageCacheMaxBytes.help")
+    public Long getPageCacheMaxBytes() {
+        return pageCacheMaxBytes;
+    }
+
+    public void setPageCacheMaxBytes(Long pageCacheMaxBytes) {
+        this.pageCacheMaxBytes = pageCacheMaxBytes;
+    }
+
+    @ConfigurationProperty(order = 210,
+            displayMessageKey = "indico.config.compression.display",
+            helpMessageKey = "indico.config.compression.help")
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    @ConfigurationProperty(order = 220,
+            displayMessageKey = "indico.config.http2.display",
+            helpMessageKey = "indico.config.http2.help")
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    @ConfigurationProperty(order = 230,
+            displayMessageKey = "indico.config.responseCacheDirectory.display",
+            helpMessageKey = "indico.config.responseCacheDirectory.help")
+    public String getResponseCacheDirectory() {
+        return responseCacheDirectory;
+    }
+
+    public void setResponseCacheDirectory(String responseCacheDirectory) {
+        this.responseCacheDirectory = responseCacheDirectory;
+    }
+
+    @ConfigurationProperty(order = 240,
+            displayMessageKey = "indico.config.responseCacheMaxBytes.display",
+            helpMessageKey = "indico.config.responseCacheMaxBytes.help")
+    public Long getResponseCacheMaxBytes() {
+        return responseCacheMaxBytes;
+    }
+
+    public void setResponseCacheMaxBytes(Long responseCacheMaxBytes) {
+        this.responseCacheMaxBytes = responseCacheMaxBytes;
+    }
+
+    @ConfigurationProperty(order = 250,
+            displayMessageKey = "indico.config.replicaRefreshSeconds.display",
+            helpMessageKey = "indico.config.replicaRefreshSeconds.help")
+    public Integer getReplicaRefreshSeconds() {
+        return replicaRefreshSeconds;
+    }
+
+    public void setReplicaRefreshSeconds(Integer replicaRefreshSeconds) {
+        this.replicaRefreshSeconds = replicaRefreshSeconds;
+    }
+
+    @ConfigurationProperty(order = 260,
+            displayMessageKey = "indico.config.replicaMaxStalenessSeconds.display",
+            helpMessageKey = "indico.config.replicaMaxStalenessSeconds.help")
+    public Integer getReplicaMaxStalenessSeconds() {
+        return replicaMaxStalenessSeconds;
+    }
+
+    public void setReplicaMaxStalenessSeconds(Integer replicaMaxStalenessSeconds) {
+        this.replicaMaxStalenessSeconds = replicaMaxStalenessSeconds;
+    }
+
+    @ConfigurationProperty(order = 270,
+            displayMessageKey = "indico.config.maxRequestsPerSecond.display",
+            helpMessageKey = "indico.config.maxRequestsPerSecond.help")
+    public Integer getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    public void setMaxRequestsPerSecond(Integer maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    @ConfigurationProperty(order = 280,
+            displayMessageKey = "indico.config.circuitBreakerFailureThreshold.display",
+            helpMessageKey = "indico.config.circuitBreakerFailureThreshold.help")
+    public Integer getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public void setCircuitBreakerFailureThreshold(Integer circuitBreakerFailureThreshold) {
+        this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+    }
+
+    @ConfigurationProperty(order = 290,
+            displayMessageKey = "indico.config.circuitBreakerOpenSeconds.display",
+            helpMessageKey = "indico.config.circuitBreakerOpenSeconds.help")
+    public Integer getCircuitBreakerOpenSeconds() {
+        return circuitBreakerOpenSeconds;
+    }
+
+    public void setCircuitBreakerOpenSeconds(Integer circuitBreakerOpenSeconds) {
+        this.circuitBreakerOpenSeconds = circuitBreakerOpenSeconds;
+    }
+
+    @ConfigurationProperty(order = 300,
+            displayMessageKey = "indico.config.retryBudgetPercent.display",
+            helpMessageKey = "indico.config.retryBudgetPercent.help")
+    public Integer getRetryBudgetPercent() {
+        return retryBudgetPercent;
+    }
+
+    public void setRetryBudgetPercent(Integer retryBudgetPercent) {
+        this.retryBudgetPercent = retryBudgetPercent;
+    }
+
+    @ConfigurationProperty(order = 310,
+            displayMessageKey = "indico.config.httpClientThreads.display",
+            helpMessageKey = "indico.config.httpClientThreads.help")
+    public Integer getHttpClientThreads() {
+        return httpClientThreads;
+    }
+
+    public void setHttpClientThreads(Integer httpClientThreads) {
+        this.httpClientThreads = httpClientThreads;
+    }
+
+    @ConfigurationProperty(order = 320,
+            displayMessageKey = "indico.config.prewarmConnections.display",
+            helpMessageKey = "indico.config.prewarmConnections.help")
+    public boolean isPrewarmConnections() {
+        return prewarmConnections;
+    }
+
+    public void setPrewarmConnections(boolean prewarmConnections) {
+        this.prewarmConnections = prewarmConnections;
+    }
+
+    @ConfigurationProperty(order = 330,
+            displayMessageKey = "indico.config.checkAliveIntervalSeconds.display",
+            helpMessageKey = "indico.config.checkAliveIntervalSeconds.help")
+    public Integer getCheckAliveIntervalSeconds() {
+        return checkAliveIntervalSeconds;
+    }
+
+    public void setCheckAliveIntervalSeconds(Integer checkAliveIntervalSeconds) {
+        this.checkAliveIntervalSeconds = checkAliveIntervalSeconds;
+    }
+
+    @ConfigurationProperty(order = 340,
+            displayMessageKey = "indico.config.asyncFetchEnabled.display",
+            helpMessageKey = "indico.config.asyncFetchEnabled.help")
+    public boolean isAsyncFetchEnabled() {
+        return asyncFetchEnabled;
+    }
+
+    public void setAsyncFetchEnabled(boolean asyncFetchEnabled) {
+        this.asyncFetchEnabled = asyncFetchEnabled;
+    }
+
+    @ConfigurationProperty(order = 350,
+            displayMessageKey = "indico.config.virtualThreadsEnabled.display",
+            helpMessageKey = "indico.config.virtualThreadsEnabled.help")
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    @ConfigurationProperty(order = 360,
+            displayMessageKey = "indico.config.slowSearchThresholdMillis.display",
+            helpMessageKey = "indico.config.slowSearchThresholdMillis.help")
+    public Integer getSlowSearchThresholdMillis() {
+        return slowSearchThresholdMillis;
+    }
+
+    public void setSlowSearchThresholdMillis(Integer slowSearchThresholdMillis) {
+        this.slowSearchThresholdMillis = slowSearchThresholdMillis;
+    }
+
+    @ConfigurationProperty(order = 370,
+            displayMessageKey = "indico.config.adaptivePageSizeEnabled.display",
+            helpMessageKey = "indico.config.adaptivePageSizeEnabled.help")
+    public boolean isAdaptivePageSizeEnabled() {
+        return adaptivePageSizeEnabled;
+    }
+
+    public void setAdaptivePageSizeEnabled(boolean adaptivePageSizeEnabled) {
+        this.adaptivePageSizeEnabled = adaptivePageSizeEnabled;
+    }
+
+    @ConfigurationProperty(order = 380,
+            displayMessageKey = "indico.config.pageSizeMin.display",
+            helpMessageKey = "indico.config.pageSizeMin.help")
+    public Integer getPageSizeMin() {
+        return pageSizeMin;
+    }
+
+    public void setPageSizeMin(Integer pageSizeMin) {
+        this.pageSizeMin = pageSizeMin;
+    }
+
+    @ConfigurationProperty(order = 390,
+            displayMessageKey = "indico.config.pageSizeMax.display",
+            helpMessageKey = "indico.config.pageSizeMax.help")
+    public Integer getPageSizeMax() {
+        return pageSizeMax;
+    }
+
+    public void setPageSizeMax(Integer pageSizeMax) {
+        this.pageSizeMax = pageSizeMax;
+    }
+
+    @ConfigurationProperty(order = 400,
+            displayMessageKey = "indico.config.targetPageLatencyMillis.display",
+            helpMessageKey = "indico.config.targetPageLatencyMillis.help")
+    public Integer getTargetPageLatencyMillis() {
+        return targetPageLatencyMillis;
+    }
+
+    public void setTargetPageLatencyMillis(Integer targetPageLatencyMillis) {
+        this.targetPageLatencyMillis = targetPageLatencyMillis;
+    }
+
+    @ConfigurationProperty(order = 410,
+            displayMessageKey = "indico.config.targetPageBytes.display",
+            helpMessageKey = "indico.config.targetPageBytes.help")
+    public Long getTargetPageBytes() {
+        return targetPageBytes;
+    }
+
+    public void setTargetPageBytes(Long targetPageBytes) {
+        this.targetPageBytes = targetPageBytes;
+    }
+
     @Override
     public void validate() {
         Objects.requireNonNull(serviceAddress, "serviceAddress must not be null");
@@ -197,6 +547,67 @@ public class IndicoConfiguration implements Configuration {
         if (pageSize != null && pageSize <= 0) {
             throw new IllegalArgumentException("pageSize must be a positive integer");
         }
+        if (prefetchDepth != null && prefetchDepth < 0) {
+            throw new IllegalArgumentException("prefetchDepth must be zero or positive");
+        }
+        if (eventFetchConcurrency != null && eventFetchConcurrency <= 0) {
+            throw new IllegalArgumentException("eventFetchConcurrency must be a positive integer");
+        }
+        configuredEventIds();
+        if (categoryCacheTtlSeconds != null && categoryCacheTtlSeconds < 0) {
+            throw new IllegalArgumentException("categoryCacheTtlSeconds must be zero or positive");
+        }
+        if (pageCacheTtlSeconds != null && pageCacheTtlSeconds < 0) {
+            throw new IllegalArgumentException("pageCacheTtlSeconds must be zero or positive");
+        }
+        if (pageCacheMaxEntries != null && pageCacheMaxEntries <= 0) {
+            throw new IllegalArgumentException("pageCacheMaxEntries must be a positive integer");
+        }
+        if (pageCacheMaxBytes != null && pageCacheMaxBytes <= 0) {
+            throw new IllegalArgumentException("pageCacheMaxBytes must be a positive number");
+        }
+        if (responseCacheMaxBytes != null && responseCacheMaxBytes <= 0) {
+            throw new IllegalArgumentException("responseCacheMaxBytes must be a positive number");
+        }
+        if (replicaRefreshSeconds != null && replicaRefreshSeconds < 0) {
+            throw new IllegalArgumentException("replicaRefreshSeconds must be zero or positive");
+        }
+        if (isReplicaEnabled() && (replicaMaxStalenessSeconds == null || replicaMaxStalenessSeconds < replicaRefreshSeconds)) {
+            throw new IllegalArgumentException("replicaMaxStalenessSeconds must not be lower than replicaRefreshSeconds");
+        }
+        if (maxRequestsPerSecond != null && maxRequestsPerSecond < 0) {
+            throw new IllegalArgumentException("maxRequestsPerSecond must be zero or positive");
+        }
+        if (circuitBreakerFailureThreshold != null && circuitBreakerFailureThreshold < 0) {
+            throw new IllegalArgumentException("circuitBreakerFailureThreshold must be zero or positive");
+        }
+        if (isCircuitBreakerEnabled() && (circuitBreakerOpenSeconds == null || circuitBreakerOpenSeconds <= 0)) {
+            throw new IllegalArgumentException("circuitBreakerOpenSeconds must be a positive integer");
+        }
+        if (retryBudgetPercent != null && (retryBudgetPercent < 0 || retryBudgetPercent > 100)) {
+            throw new IllegalArgumentException("retryBudgetPercent must be between 0 and 100");
+        }
+        if (httpClientThreads != null && httpClientThreads <= 0) {
+            throw new IllegalArgumentException("httpClientThreads must be a positive integer");
+        }
+        if (checkAliveIntervalSeconds != null && checkAliveIntervalSeconds < 0) {
+            throw new IllegalArgumentException("checkAliveIntervalSeconds must be zero or positive");
+        }
+        if (slowSearchThresholdMillis != null && slowSearchThresholdMillis < 0) {
+            throw new IllegalArgumentException("slowSearchThresholdMillis must be zero or positive");
+        }
+        if (pageSizeMin != null && pageSizeMin <= 0) {
+            throw new IllegalArgumentException("pageSizeMin must be a positive integer");
+        }
+        if (pageSizeMax != null && pageSizeMin != null && pageSizeMax < pageSizeMin) {
+            throw new IllegalArgumentException("pageSizeMax must not be smaller than pageSizeMin");
+        }
+        if (targetPageLatencyMillis != null && targetPageLatencyMillis <= 0) {
+            throw new IllegalArgumentException("targetPageLatencyMillis must be a positive integer");
+        }
+        if (targetPageBytes != null && targetPageBytes <= 0) {
+            throw new IllegalArgumentException("targetPageBytes must be positive");
+        }
         if (retryMax != null && retryMax < 0) {
             throw new IllegalArgumentException("retryMax must be zero or positive");
         }
@@ -217,4 +628,27 @@ public class IndicoConfiguration implements Configuration {
     public Optional<Long> optionalDefaultEventId() {
         return Optional.ofNullable(defaultEventId);
     }
+
+    public boolean isReplicaEnabled() {
+        return replicaRefreshSeconds != null && replicaRefreshSeconds > 0;
+    }
+
+    public boolean isCircuitBreakerEnabled() {
+        return circuitBreakerFailureThreshold != null && circuitBreakerFailureThreshold > 0;
+    }
+
+    public Optional<String> optionalResponseCacheDirectory() {
+        return Optional.ofNullable(responseCacheDirectory).map(String::trim).filter(value -> !value.isEmpty());
+    }
+
+    public Optional<Long> optionalCategoryId() {
+        return Optional.ofNullable(categoryId);
+    }
+
+    public List<Long> configuredEventIds() {
+        if (eventIds == null || eventIds.length == 0) {
+            return Collections.emptyList();
+        }
+        return EventIds.parse(eventIds);
+    }
 }
@@ -1,44 +1,89 @@
 package com.identicum.connectors.indico;
 
+import com.identicum.connectors.indico.concurrent.WorkerExecutors;
 import com.identicum.connectors.indico.http.IndicoHttpClient;
+import com.identicum.connectors.indico.mapper.AttributePlan;
+import com.identicum.connectors.indico.mapper.EventMapper;
 import com.identicum.connectors.indico.mapper.RegistrationMapper;
+import com.identicum.connectors.indico.metrics.IndicoMetrics;
+import com.identicum.connectors.indico.metrics.SearchEvent;
+import com.identicum.connectors.indico.metrics.SearchTrace;
+import com.identicum.connectors.indico.model.EventSummary;
 import com.identicum.connectors.indico.model.RegistrationPage;
 import com.identicum.connectors.indico.model.RegistrationRecord;
+import com.identicum.connectors.indico.replica.EventReplica;
+import com.identicum.connectors.indico.replica.ReplicaRegistry;
+import com.identicum.connectors.indico.service.AdaptivePageSizer;
+import com.identicum.connectors.indico.service.BlockingRecordSubscriber;
+import com.identicum.connectors.indico.service.CategoryEventCache;
+import com.identicum.connectors.indico.service.CategoryEventService;
+import com.identicum.connectors.indico.service.MultiEventPageCursor;
+import com.identicum.connectors.indico.service.PageCursor;
+import com.identicum.connectors.indico.service.PrefetchingPageCursor;
+import com.identicum.connectors.indico.service.RegistrationPageCache;
 import com.identicum.connectors.indico.service.RegistrationQuery;
 import com.identicum.connectors.indico.service.RegistrationService;
+import com.identicum.connectors.indico.service.SequentialPageCursor;
+import com.identicum.connectors.indico.sync.EventSyncState;
+import com.identicum.connectors.indico.sync.EventSyncTracker;
+import com.identicum.connectors.indico.sync.SyncStateStore;
+import com.identicum.connectors.indico.sync.SyncTokens;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
 import org.identityconnectors.framework.common.exceptions.InvalidAttributeValueException;
 import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.OperationOptions;
 import org.identityconnectors.framework.common.objects.ResultsHandler;
 import org.identityconnectors.framework.common.objects.Schema;
 import org.identityconnectors.framework.common.objects.SchemaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
 import org.identityconnectors.framework.common.objects.filter.FilterTranslator;
 import org.identityconnectors.framework.spi.Configuration;
-import org.identityconnectors.framework.spi.Connector;
 import org.identityconnectors.framework.spi.ConnectorClass;
+import org.identityconnectors.framework.spi.PoolableConnector;
+import org.identityconnectors.framework.spi.SyncTokenResultsHandler;
 import org.identityconnectors.framework.spi.operations.SchemaOp;
 import org.identityconnectors.framework.spi.operations.SearchOp;
+import org.identityconnectors.framework.spi.operations.SyncOp;
 import org.identityconnectors.framework.spi.operations.TestOp;
 
 /**
  * ConnId connector implementation for the Indico HTTP Export API.
  */
 @ConnectorClass(displayNameKey = "connector.identicum.indico.display", configurationClass = IndicoConfiguration.class)
-public class IndicoConnector implements Connector, SearchOp<IndicoFilter>, TestOp, SchemaOp {
+public class IndicoConnector implements PoolableConnector, SearchOp<IndicoFilter>, SyncOp, TestOp, SchemaOp {
 
     private static final Log LOG = Log.getLog(IndicoConnector.class);
 
+    private static final int ASYNC_DEFAULT_BATCH = 100;
+
+    private static final int MAX_LOGGED_EVENTS = 10;
+
     private IndicoConfiguration configuration;
     private RegistrationMapper registrationMapper;
     private RegistrationService registrationService;
+    private CategoryEventService categoryEventService;
+    private String stateScope;
     private IndicoHttpClient httpClient;
     private Schema schema;
+    private ExecutorService workers;
+    private AdaptivePageSizer pageSizer;
 
     @Override
     public void init(Configuration configuration) {
@@ -47,7 +92,48 @@ public class IndicoConnector implements Connector, SearchOp<IndicoFilter>, TestO
         this.registrationMapper = new RegistrationMapper();
         IndicoAuthenticator authenticator = new IndicoAuthenticator(this.configuration);
         this.httpClient = new IndicoHttpClient(this.configuration, authenticator);
-        this.registrationService = new RegistrationService(httpClient, registrationMapper);
+        if (this.configuration.isPrewarmConnections()) {
+            httpClient.prewarm();
+        }
+        this.stateScope = this.configuration.getServiceAddress() + "|" + authenticator.credentialFingerprint();
+        this.registrationService = new RegistrationService(httpClient, registrationMapper, pageCache(),
+                stateScope, seconds(this.configuration.getPageCacheTtlSeconds()));
+        this.pageSizer = pageSizer();
+        this.categoryEventService = new CategoryEventService(httpClient, new EventMapper(), CategoryEventCache.shared(),
+                stateScope, seconds(this.configuration.getCategoryCacheTtlSeconds()), this.configuration.getPageSize());
+    }
+
+    private AdaptivePageSizer pageSizer() {
+        if (!configuration.isAdaptivePageSizeEnabled()) {
+            return null;
+        }
+        Integer pageSize = configuration.getPageSize();
+        Integer minSize = configuration.getPageSizeMin();
+        Integer maxSize = configuration.getPageSizeMax();
+        Integer targetLatency = configuration.getTargetPageLatencyMillis();
+        Long targetBytes = configuration.getTargetPageBytes();
+        AdaptivePageSizer sizer = AdaptivePageSizer.forAddress(configuration.getServiceAddress(),
+                pageSize != null ? pageSize : 200, minSize != null ? minSize : 1,
+                maxSize != null ? maxSize : Integer.MAX_VALUE, targetLatency != null ? targetLatency : 2_000L,
+                targetBytes != null ? targetBytes : Long.MAX_VALUE);
+        httpClient.getMetrics().bindPageSize(sizer::currentSize);
+        return sizer;
+    }
+
+    private RegistrationPageCache pageCache() {
+        Integer ttl = configuration.getPageCacheTtlSeconds();
+        if (ttl == null || ttl <= 0) {
+            return null;
+        }
+        RegistrationPageCache cache = RegistrationPageCache.shared();
+        Integer maxEntries = configuration.getPageCacheMaxEntries();
+        Long maxBytes = configuration.getPageCacheMaxBytes();
+        cache.configure(maxEntries != null ? maxEntries : Integer.MAX_VALUE, maxBytes != null ? maxBytes : Long.MAX_VALUE);
+        return cache;
+    }
+
+    private static long seconds(Integer value) {
+        return value != null ? value * 1_000L : 0L;
     }
 
     @Override
@@ -56,8 +142,29 @@ public class IndicoConnector implements Connector, SearchOp<IndicoFilter>, TestO
     }
 
     @Override
-    public void dispose() {
-        // Nothing to dispose; HttpClient is managed by JVM.
+    public synchronized void dispose() {
+        if (httpClient != null) {
+            httpClient.close();
+            httpClient = null;
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    /**
+     * Pooled instances keep their HTTP client, caches and schema; Indico is only contacted when no request
+     * succeeded within the configured interval.
+     */
+    @Override
+    public void checkAlive() {
+        ensureInitialized();
+        Integer interval = configuration.getCheckAliveIntervalSeconds();
+        if (interval != null && httpClient.millisSinceLastSuccess() < interval * 1_000L) {
+            return;
+        }
+        test();
     }
 
     @Override
@@ -87,25 +194,152 @@ public class IndicoConnector implements Connector, SearchOp<IndicoFilter>, TestO
             throw new UnsupportedOperationException("Unsupported object class: " + objectClass.getObjectClassValue());
         }
         Objects.requireNonNull(handler, "ResultsHandler must not be null");
+        IndicoMetrics metrics = httpClient.getMetrics();
+        SearchTrace trace = new SearchTrace();
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        List<Long> eventIds = null;
+        try {
+            SearchScope scope = resolveScope(filter, options);
+            eventIds = scope.eventIds;
+            search(scope, filter, new TracedHandler(handler, trace, metrics), options, trace);
+        } finally {
+            long elapsedNanos = trace.elapsedNanos();
+            long handlerNanos = trace.handlerNanos();
+            metrics.onSearch(elapsedNanos - handlerNanos, handlerNanos);
+            logSearch(eventIds, filter, trace, elapsedNanos);
+            if (event.shouldCommit()) {
+                event.events = eventIds != null ? eventIds.size() : 0;
+                event.filter = filter != null ? filter.getShape() : "ALL";
+                event.pages = trace.pages();
+                event.records = trace.records();
+                event.retries = trace.retries();
+                event.handlerNanos = handlerNanos;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Logs one line per search with its timing breakdown, at INFO once it reaches the slow-search threshold.
+     */
+    private void logSearch(List<Long> eventIds, IndicoFilter filter, SearchTrace trace, long elapsedNanos) {
+        Integer threshold = configuration.getSlowSearchThresholdMillis();
+        boolean slow = threshold != null && threshold > 0 && TimeUnit.NANOSECONDS.toMillis(elapsedNanos) >= threshold;
+        if (!slow && !LOG.isOk()) {
+            return;
+        }
+        String events = eventIds == null ? "unresolved"
+                : eventIds.size() <= MAX_LOGGED_EVENTS ? eventIds.toString()
+                : eventIds.subList(0, MAX_LOGGED_EVENTS) + " and " + (eventIds.size() - MAX_LOGGED_EVENTS) + " more";
+        String shape = filter != null ? filter.getShape() : "ALL";
+        if (slow) {
+            LOG.info("Slow search of events {0} with filter {1}: {2}", events, shape, trace.summary());
+        } else {
+            LOG.ok("Search of events {0} with filter {1}: {2}", events, shape, trace.summary());
+        }
+    }
 
-        long eventId = resolveEventId(filter, options);
+    private void search(SearchScope scope, IndicoFilter filter, TracedHandler handler, OperationOptions options,
+                        SearchTrace trace) {
         String registrationId = filter != null ? filter.getRegistrationId() : null;
         String email = filter != null ? filter.getEmail() : null;
-        Integer limit = resolveLimit(options);
+        if (scope.eventIds.isEmpty()) {
+            if (registrationId != null) {
+                throw new UnknownUidException("Registration not found: " + registrationId);
+            }
+            return;
+        }
         String pageToken = options != null ? options.getPagedResultsCookie() : null;
-        RegistrationQuery query = new RegistrationQuery(eventId, registrationId, email, limit, pageToken);
+        AttributePlan plan = AttributePlan.of(options != null ? options.getAttributesToGet() : null,
+                filter != null ? filter.getAttributes() : null);
+        if (configuration.isReplicaEnabled() && pageToken == null) {
+            executeReplicaQuery(scope, filter, plan, handler);
+            return;
+        }
+        // A page size or cookie from the caller pins the paging; otherwise the size follows Indico's responses.
+        boolean adaptive = pageSizer != null && pageToken == null && registrationId == null
+                && (options == null || options.getPageSize() == null);
+        Integer limit = adaptive ? Integer.valueOf(pageSizer.currentSize()) : resolveLimit(options);
+        RegistrationQuery query = new RegistrationQuery(scope.eventIds.get(0), registrationId, email, limit, pageToken)
+                .withPlan(plan)
+                .withTrace(trace);
+        if (adaptive) {
+            query = query.withPageSizer(pageSizer);
+        }
+        if (configuration.isAsyncFetchEnabled()) {
+            executeAsyncQuery(query, scope, filter, plan, handler);
+            return;
+        }
         boolean found = false;
-        RegistrationQuery current = query;
-        while (true) {
-            RegistrationPage page = registrationService.fetchRegistrations(current);
-            for (RegistrationRecord record : page.getRecords()) {
-                if (registrationId != null && !registrationId.equals(record.getRegistrationId())) {
+        try (PageCursor cursor = openCursor(query, scope.eventIds)) {
+            RegistrationPage page;
+            while ((page = cursor.next()) != null) {
+                for (RegistrationRecord fetched : page.getRecords()) {
+                    RegistrationRecord record = scope.withCategoryPath(fetched);
+                    if (filter != null && !filter.matches(record)) {
+                        continue;
+                    }
+                    if (!handler.deliver(record, plan)) {
+                        return;
+                    }
+                    found = true;
+                }
+                if (registrationId != null && found) {
+                    return;
+                }
+            }
+        }
+        if (registrationId != null && !found) {
+            throw new UnknownUidException("Registration not found: " + registrationId);
+        }
+    }
+
+    /**
+     * Streams the search through the non-blocking publisher; the handler still runs on the calling thread and
+     * its pace drives how many pages are requested from Indico.
+     */
+    private void executeAsyncQuery(RegistrationQuery query, SearchScope scope, IndicoFilter filter, AttributePlan plan,
+                                   TracedHandler handler) {
+        String registrationId = query.getRegistrationId();
+        Integer concurrency = configuration.getEventFetchConcurrency();
+        int batchSize = Math.max(2, 2 * (query.getLimit() != null ? query.getLimit() : ASYNC_DEFAULT_BATCH));
+        boolean found = false;
+        try (BlockingRecordSubscriber records = new BlockingRecordSubscriber(batchSize)) {
+            registrationService.publish(query, scope.eventIds, concurrency != null ? concurrency : 1).subscribe(records);
+            RegistrationRecord record;
+            while ((record = records.next()) != null) {
+                record = scope.withCategoryPath(record);
+                if (filter != null && !filter.matches(record)) {
                     continue;
                 }
-                if (email != null && (record.getEmail() == null || !email.equalsIgnoreCase(record.getEmail()))) {
+                if (!handler.deliver(record, plan)) {
+                    return;
+                }
+                found = true;
+                if (registrationId != null) {
+                    return;
+                }
+            }
+        }
+        if (registrationId != null && !found) {
+            throw new UnknownUidException("Registration not found: " + registrationId);
+        }
+    }
+
+    /**
+     * Answers the search from the local replicas of the events in scope instead of paging through Indico.
+     */
+    private void executeReplicaQuery(SearchScope scope, IndicoFilter filter, AttributePlan plan, TracedHandler handler) {
+        String registrationId = filter != null ? filter.getRegistrationId() : null;
+        boolean found = false;
+        for (Long eventId : scope.eventIds) {
+            for (RegistrationRecord stored : replica(eventId).select(filter)) {
+                RegistrationRecord record = scope.withCategoryPath(stored);
+                if (filter != null && !filter.matches(record)) {
                     continue;
                 }
-                if (!handler.handle(registrationMapper.toConnectorObject(record))) {
+                if (!handler.deliver(record, plan)) {
                     return;
                 }
                 found = true;
@@ -113,16 +347,129 @@ public class IndicoConnector implements Connector, SearchOp<IndicoFilter>, TestO
             if (registrationId != null && found) {
                 return;
             }
-            if (!page.hasNextPage()) {
-                break;
-            }
-            current = current.nextPage(page.getNextPageToken());
         }
         if (registrationId != null && !found) {
             throw new UnknownUidException("Registration not found: " + registrationId);
         }
     }
 
+    private EventReplica replica(long eventId) {
+        return ReplicaRegistry.shared().replica(stateScope + "|" + eventId,
+                seconds(configuration.getReplicaRefreshSeconds()), seconds(configuration.getReplicaMaxStalenessSeconds()),
+                () -> {
+                    RegistrationQuery query = new RegistrationQuery(eventId, null, null, configuration.getPageSize(), null)
+                            .bypassCache();
+                    try (PageCursor cursor = new SequentialPageCursor(registrationService, query)) {
+                        return EventReplica.load(cursor);
+                    }
+                }, workers());
+    }
+
+    @Override
+    public void sync(ObjectClass objectClass, SyncToken token, SyncResultsHandler handler, OperationOptions options) {
+        ensureInitialized();
+        if (!ObjectClass.ACCOUNT.equals(objectClass)) {
+            throw new UnsupportedOperationException("Unsupported object class: " + objectClass.getObjectClassValue());
+        }
+        Objects.requireNonNull(handler, "SyncResultsHandler must not be null");
+        SyncToken latest = runSync(resolveScope(null, options), token, handler);
+        if (latest != null && handler instanceof SyncTokenResultsHandler) {
+            ((SyncTokenResultsHandler) handler).handleResult(latest);
+        }
+    }
+
+    @Override
+    public SyncToken getLatestSyncToken(ObjectClass objectClass) {
+        ensureInitialized();
+        if (!ObjectClass.ACCOUNT.equals(objectClass)) {
+            throw new UnsupportedOperationException("Unsupported object class: " + objectClass.getObjectClassValue());
+        }
+        return runSync(resolveScope(null, null), null, null);
+    }
+
+    /**
+     * Scans the registrants of every event in scope and reports those modified after the per-event watermark of
+     * the token, followed by deletions detected against the identifiers seen by the previous pass. Returns the
+     * new token, or {@code null} when the handler stopped the pass early.
+     */
+    private SyncToken runSync(SearchScope scope, SyncToken token, SyncResultsHandler handler) {
+        Map<Long, String> previous;
+        try {
+            previous = SyncTokens.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidAttributeValueException(e.getMessage());
+        }
+        boolean fullSync = token == null;
+        SyncToken deltaToken = fullSync ? SyncTokens.encode(Collections.emptyMap()) : token;
+        SyncStateStore stateStore = SyncStateStore.shared();
+        Map<Long, EventSyncTracker> trackers = new LinkedHashMap<>();
+        for (Long eventId : scope.eventIds) {
+            String watermark = previous.get(eventId);
+            EventSyncState state = fullSync ? null : stateStore.get(stateScope, eventId, watermark);
+            if (!fullSync && state == null && previous.containsKey(eventId)) {
+                LOG.info("No previous sync state for event {0}; deletions are not detected on this pass", eventId);
+            }
+            trackers.put(eventId, new EventSyncTracker(fullSync, watermark, state != null ? state.getSeenIds() : null));
+        }
+        if (scope.eventIds.isEmpty()) {
+            return SyncTokens.encode(Collections.emptyMap());
+        }
+
+        Map<Long, RuntimeException> failures = Collections.emptyMap();
+        RegistrationQuery query = new RegistrationQuery(scope.eventIds.get(0), null, null, configuration.getPageSize(), null)
+                .bypassCache();
+        // Sync keeps going past failed events: they keep their watermark and report no deletions.
+        try (PageCursor cursor = openCursor(query, scope.eventIds, true)) {
+            RegistrationPage page;
+            while ((page = cursor.next()) != null) {
+                for (RegistrationRecord fetched : page.getRecords()) {
+                    RegistrationRecord record = scope.withCategoryPath(fetched);
+                    EventSyncTracker tracker = trackers.get(record.getEventId());
+                    boolean changed = tracker == null || tracker.observe(record);
+                    if (changed && handler != null && !handler.handle(new SyncDeltaBuilder()
+                            .setToken(deltaToken)
+                            .setDeltaType(SyncDeltaType.CREATE_OR_UPDATE)
+                            .setObject(registrationMapper.toConnectorObject(record))
+                            .build())) {
+                        return null;
+                    }
+                }
+            }
+            if (cursor instanceof MultiEventPageCursor) {
+                failures = ((MultiEventPageCursor) cursor).getFailures();
+            }
+        }
+
+        // Failed events keep their previous watermark and state so that nothing is reported as deleted.
+        Map<Long, EventSyncState> completed = new LinkedHashMap<>();
+        Map<Long, String> watermarks = new LinkedHashMap<>();
+        for (Map.Entry<Long, EventSyncTracker> entry : trackers.entrySet()) {
+            Long eventId = entry.getKey();
+            if (failures.containsKey(eventId)) {
+                watermarks.put(eventId, previous.get(eventId));
+                continue;
+            }
+            EventSyncState state = entry.getValue().finish();
+            completed.put(eventId, state);
+            watermarks.put(eventId, state.getWatermark());
+            if (handler == null) {
+                continue;
+            }
+            for (String deletedId : entry.getValue().deletedIds(state)) {
+                if (!handler.handle(new SyncDeltaBuilder()
+                        .setToken(deltaToken)
+                        .setDeltaType(SyncDeltaType.DELETE)
+                        .setObjectClass(ObjectClass.ACCOUNT)
+                        .setUid(new Uid(deletedId))
+                        .build())) {
+                    return null;
+                }
+            }
+        }
+        completed.forEach((eventId, state) -> stateStore.put(stateScope, eventId, state));
+        return SyncTokens.encode(watermarks);
+    }
+
     @Override
     public Schema schema() {
         if (schema != null) {
@@ -196,25 +543,65 @@ public class IndicoConnector implements Connector, SearchOp<IndicoFilter>, TestO
         return ociBuilder.build();
     }
 
-    private long resolveEventId(IndicoFilter filter, OperationOptions options) {
-        if (filter != null && filter.getEventId() != null) {
-            return filter.getEventId();
+    private SearchScope resolveScope(IndicoFilter filter, OperationOptions options) {
+        if (filter != null && filter.getEventIds() != null) {
+            return SearchScope.of(new ArrayList<>(filter.getEventIds()));
         }
         if (options != null && options.getOptions() != null) {
             Object eventId = options.getOptions().get("eventId");
             if (eventId instanceof Number) {
-                return ((Number) eventId).longValue();
+                return SearchScope.of(Collections.singletonList(((Number) eventId).longValue()));
             }
             if (eventId instanceof String) {
                 try {
-                    return Long.parseLong((String) eventId);
+                    return SearchScope.of(Collections.singletonList(Long.parseLong((String) eventId)));
                 } catch (NumberFormatException e) {
                     throw new InvalidAttributeValueException("eventId option must be a number");
                 }
             }
+            Object eventIds = options.getOptions().get("eventIds");
+            if (eventIds != null) {
+                try {
+                    List<Long> parsed = EventIds.parse(eventIds);
+                    if (!parsed.isEmpty()) {
+                        return SearchScope.of(parsed);
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidAttributeValueException("eventIds option is invalid: " + e.getMessage());
+                }
+            }
+            Object categoryId = options.getOptions().get("categoryId");
+            if (categoryId != null) {
+                try {
+                    return categoryScope(Long.parseLong(categoryId.toString().trim()));
+                } catch (NumberFormatException e) {
+                    throw new InvalidAttributeValueException("categoryId option must be a number");
+                }
+            }
+        }
+        List<Long> configured = configuration.configuredEventIds();
+        if (!configured.isEmpty()) {
+            return SearchScope.of(configured);
+        }
+        if (configuration.optionalCategoryId().isPresent()) {
+            return categoryScope(configuration.getCategoryId());
+        }
+        return SearchScope.of(Collections.singletonList(configuration.optionalDefaultEventId()
+                .orElseThrow(() -> new InvalidAttributeValueException("eventId is required for registrant searches"))));
+    }
+
+    private SearchScope categoryScope(long categoryId) {
+        List<EventSummary> events = categoryEventService.listEvents(categoryId);
+        List<Long> eventIds = new ArrayList<>(events.size());
+        Map<Long, String> categoryPaths = new HashMap<>();
+        for (EventSummary event : events) {
+            eventIds.add(event.getEventId());
+            if (event.getCategoryPath() != null) {
+                categoryPaths.put(event.getEventId(), event.getCategoryPath());
+            }
         }
-        return configuration.optionalDefaultEventId()
-                .orElseThrow(() -> new InvalidAttributeValueException("eventId is required for registrant searches"));
+        LOG.ok("Category {0} resolved to {1} events", categoryId, eventIds.size());
+        return new SearchScope(eventIds, categoryPaths);
     }
 
     private Integer resolveLimit(OperationOptions options) {
@@ -224,11 +611,97 @@ public class IndicoConnector implements Connector, SearchOp<IndicoFilter>, TestO
         return configuration.getPageSize();
     }
 
+    private PageCursor openCursor(RegistrationQuery query, List<Long> eventIds) {
+        return openCursor(query, eventIds, false);
+    }
+
+    private PageCursor openCursor(RegistrationQuery query, List<Long> eventIds, boolean partialResults) {
+        if (eventIds.size() > 1) {
+            Integer concurrency = configuration.getEventFetchConcurrency();
+            return new MultiEventPageCursor(registrationService, query, eventIds,
+                    concurrency != null ? concurrency : 1, workers(), partialResults);
+        }
+        Integer prefetchDepth = configuration.getPrefetchDepth();
+        if (prefetchDepth == null || prefetchDepth <= 0) {
+            return new SequentialPageCursor(registrationService, query);
+        }
+        return new PrefetchingPageCursor(registrationService, query, prefetchDepth, workers());
+    }
+
+    private synchronized ExecutorService workers() {
+        if (workers == null) {
+            workers = WorkerExecutors.unbounded("indico-fetch", configuration.isVirtualThreadsEnabled());
+        }
+        return workers;
+    }
+
     private void ensureInitialized() {
-        if (configuration == null) {
+        if (configuration == null || httpClient == null) {
             throw new ConnectorException("Connector not initialized");
         }
     }
 
-    // Unsupported operations (Create/Update/Delete/Sync) are intentionally absent for v0.0.1.
+    // Unsupported operations (Create/Update/Delete) are intentionally absent; the Export API is read-only.
+
+    private static final class SearchScope {
+
+        private final List<Long> eventIds;
+        private final Map<Long, String> categoryPaths;
+
+        SearchScope(List<Long> eventIds, Map<Long, String> categoryPaths) {
+            this.eventIds = eventIds;
+            this.categoryPaths = categoryPaths;
+        }
+
+        static SearchScope of(List<Long> eventIds) {
+            return new SearchScope(eventIds, Collections.emptyMap());
+        }
+
+        /**
+         * Returns the record with the category path of its event, copying it rather than touching a record that a
+         * page cache or replica may hand out again.
+         */
+        RegistrationRecord withCategoryPath(RegistrationRecord record) {
+            if (record.getCategoryPath() == null && record.getEventId() != null) {
+                String categoryPath = categoryPaths.get(record.getEventId());
+                if (categoryPath != null) {
+                    return record.withCategoryPath(categoryPath);
+                }
+            }
+            return record;
+        }
+    }
+
+    /**
+     * Measures the time spent inside the caller's handler and counts the records handed to it.
+     */
+    private final class TracedHandler {
+
+        private final ResultsHandler delegate;
+        private final SearchTrace trace;
+        private final IndicoMetrics metrics;
+
+        TracedHandler(ResultsHandler delegate, SearchTrace trace, IndicoMetrics metrics) {
+            this.delegate = delegate;
+            this.trace = trace;
+            this.metrics = metrics;
+        }
+
+        /**
+         * Maps the record and hands it to the caller, timing both steps separately.
+         */
+        boolean deliver(RegistrationRecord record, AttributePlan plan) {
+            long start = System.nanoTime();
+            ConnectorObject connectorObject = registrationMapper.toConnectorObject(record, plan);
+            long mapped = System.nanoTime();
+            trace.onMap(mapped - start);
+            trace.onRecord();
+            metrics.onRecordMapped();
+            try {
+                return delegate.handle(connectorObject);
+            } finally {
+                trace.onHandler(System.nanoTime() - mapped);
+            }
+        }
+    }
 }
@@ -1,13 +1,32 @@
 package com.identicum.connectors.indico;
 
+import com.identicum.connectors.indico.mapper.RecordAttribute;
+import com.identicum.connectors.indico.model.IndicoDates;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
 /**
- * Represents a translated search filter for Indico registrants.
+ * Represents a translated search filter for Indico registrants: the parts Indico evaluates (registration id,
+ * email and event scope) and a compiled predicate over the whole filter, applied before records are mapped.
+ * State, flag and date-range conditions that must hold are also kept so replicas can answer from their indexes.
  */
 public class IndicoFilter {
 
     private String registrationId;
     private String email;
-    private Long eventId;
+    private Set<Long> eventIds;
+    private String state;
+    private Boolean checkedIn;
+    private Boolean paid;
+    private DateRange dateRange;
+    private Predicate<RegistrationRecord> predicate = record -> true;
+    private Set<RecordAttribute> attributes = Collections.emptySet();
+    private String shape = "ALL";
 
     public String getRegistrationId() {
         return registrationId;
@@ -25,11 +44,211 @@ public class IndicoFilter {
         this.email = email;
     }
 
+    /**
+     * Returns the event the filter is restricted to, or {@code null} unless it names exactly one event.
+     */
     public Long getEventId() {
-        return eventId;
+        return eventIds != null && eventIds.size() == 1 ? eventIds.iterator().next() : null;
     }
 
     public void setEventId(Long eventId) {
-        this.eventId = eventId;
+        this.eventIds = eventId != null ? Collections.singleton(eventId) : null;
+    }
+
+    /**
+     * Returns the events the filter is restricted to, or {@code null} when it does not constrain the event.
+     */
+    public Set<Long> getEventIds() {
+        return eventIds;
+    }
+
+    public void setEventIds(Set<Long> eventIds) {
+        this.eventIds = eventIds;
+    }
+
+    /**
+     * Returns the state every match must have, or {@code null} when the filter does not require one.
+     */
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Boolean getCheckedIn() {
+        return checkedIn;
+    }
+
+    public void setCheckedIn(Boolean checkedIn) {
+        this.checkedIn = checkedIn;
+    }
+
+    public Boolean getPaid() {
+        return paid;
+    }
+
+    public void setPaid(Boolean paid) {
+        this.paid = paid;
+    }
+
+    /**
+     * Returns the bounds every match must fall within on one date attribute, or {@code null}.
+     */
+    public DateRange getDateRange() {
+        return dateRange;
+    }
+
+    public void setDateRange(DateRange dateRange) {
+        this.dateRange = dateRange;
+    }
+
+    public Predicate<RegistrationRecord> getPredicate() {
+        return predicate;
+    }
+
+    public void setPredicate(Predicate<RegistrationRecord> predicate) {
+        this.predicate = Objects.requireNonNull(predicate, "predicate must not be null");
+    }
+
+    /**
+     * Returns the record attributes the predicate reads; they must be parsed even when not requested.
+     */
+    public Set<RecordAttribute> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Set<RecordAttribute> attributes) {
+        this.attributes = Objects.requireNonNull(attributes, "attributes must not be null");
+    }
+
+    /**
+     * Returns the structure of the filter with operators and attribute names but no values, for logging.
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    public void setShape(String shape) {
+        this.shape = Objects.requireNonNull(shape, "shape must not be null");
+    }
+
+    public boolean matches(RegistrationRecord record) {
+        return predicate.test(record);
+    }
+
+    /**
+     * Both filters must match; pushed-down values are kept when either side carries them.
+     */
+    public static IndicoFilter and(IndicoFilter left, IndicoFilter right) {
+        IndicoFilter result = new IndicoFilter();
+        result.registrationId = left.registrationId != null ? left.registrationId : right.registrationId;
+        result.email = left.email != null ? left.email : right.email;
+        if (left.eventIds == null || right.eventIds == null) {
+            result.eventIds = left.eventIds != null ? left.eventIds : right.eventIds;
+        } else {
+            Set<Long> intersection = new LinkedHashSet<>(left.eventIds);
+            intersection.retainAll(right.eventIds);
+            result.eventIds = intersection;
+        }
+        result.state = left.state != null ? left.state : right.state;
+        result.checkedIn = left.checkedIn != null ? left.checkedIn : right.checkedIn;
+        result.paid = left.paid != null ? left.paid : right.paid;
+        if (left.dateRange != null && right.dateRange != null
+                && left.dateRange.attribute == right.dateRange.attribute) {
+            result.dateRange = left.dateRange.intersect(right.dateRange);
+        } else {
+            result.dateRange = left.dateRange != null ? left.dateRange : right.dateRange;
+        }
+        result.predicate = left.predicate.and(right.predicate);
+        result.attributes = union(left.attributes, right.attributes);
+        result.shape = "AND(" + left.shape + ", " + right.shape + ")";
+        return result;
+    }
+
+    /**
+     * Either filter may match; only an event scope present on both sides can still be pushed down.
+     */
+    public static IndicoFilter or(IndicoFilter left, IndicoFilter right) {
+        IndicoFilter result = new IndicoFilter();
+        if (left.eventIds != null && right.eventIds != null) {
+            Set<Long> union = new LinkedHashSet<>(left.eventIds);
+            union.addAll(right.eventIds);
+            result.eventIds = union;
+        }
+        result.predicate = left.predicate.or(right.predicate);
+        result.attributes = union(left.attributes, right.attributes);
+        result.shape = "OR(" + left.shape + ", " + right.shape + ")";
+        return result;
+    }
+
+    private static Set<RecordAttribute> union(Set<RecordAttribute> left, Set<RecordAttribute> right) {
+        Set<RecordAttribute> union = EnumSet.noneOf(RecordAttribute.class);
+        union.addAll(left);
+        union.addAll(right);
+        return union;
+    }
+
+    /**
+     * Bounds on one date attribute; a {@code null} bound is open.
+     */
+    public static final class DateRange {
+
+        private final RecordAttribute attribute;
+        private final String from;
+        private final boolean fromInclusive;
+        private final String to;
+        private final boolean toInclusive;
+
+        public DateRange(RecordAttribute attribute, String from, boolean fromInclusive, String to, boolean toInclusive) {
+            this.attribute = Objects.requireNonNull(attribute, "attribute must not be null");
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+        }
+
+        public RecordAttribute getAttribute() {
+            return attribute;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public boolean isFromInclusive() {
+            return fromInclusive;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public boolean isToInclusive() {
+            return toInclusive;
+        }
+
+        DateRange intersect(DateRange other) {
+            String lower = from;
+            boolean lowerInclusive = fromInclusive;
+            if (other.from != null) {
+                int comparison = from == null ? 1 : IndicoDates.compare(other.from, from);
+                if (comparison > 0 || (comparison == 0 && !other.fromInclusive)) {
+                    lower = other.from;
+                    lowerInclusive = other.fromInclusive;
+                }
+            }
+            String upper = to;
+            boolean upperInclusive = toInclusive;
+            if (other.to != null) {
+                int comparison = to == null ? -1 : IndicoDates.compare(other.to, to);
+                if (comparison < 0 || (comparison == 0 && !other.toInclusive)) {
+                    upper = other.to;
+                    upperInclusive = other.toInclusive;
+                }
+            }
+            return new DateRange(attribute, lower, lowerInclusive, upper, upperInclusive);
+        }
     }
 }
@@ -1,52 +1,230 @@
 package com.identicum.connectors.indico;
 
+import com.identicum.connectors.indico.mapper.RecordAttribute;
+import com.identicum.connectors.indico.model.IndicoDates;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeUtil;
-import org.identityconnectors.framework.common.objects.Name;
-import org.identityconnectors.framework.common.objects.Uid;
 import org.identityconnectors.framework.common.objects.filter.AbstractFilterTranslator;
+import org.identityconnectors.framework.common.objects.filter.AttributeFilter;
+import org.identityconnectors.framework.common.objects.filter.ContainsFilter;
+import org.identityconnectors.framework.common.objects.filter.EndsWithFilter;
 import org.identityconnectors.framework.common.objects.filter.EqualsFilter;
+import org.identityconnectors.framework.common.objects.filter.EqualsIgnoreCaseFilter;
+import org.identityconnectors.framework.common.objects.filter.GreaterThanFilter;
+import org.identityconnectors.framework.common.objects.filter.GreaterThanOrEqualFilter;
+import org.identityconnectors.framework.common.objects.filter.LessThanFilter;
+import org.identityconnectors.framework.common.objects.filter.LessThanOrEqualFilter;
+import org.identityconnectors.framework.common.objects.filter.StartsWithFilter;
+import org.identityconnectors.framework.common.objects.filter.StringFilter;
 
 /**
- * Translates ConnId filters into Indico-specific search filters.
+ * Translates ConnId filters into Indico-specific search filters. Equality on uid, email and eventId is pushed
+ * down to Indico, and state, flag and date bounds are kept for replica indexes; every supported filter also
+ * contributes to a compiled record predicate.
  */
 public class IndicoFilterTranslator extends AbstractFilterTranslator<IndicoFilter> {
 
     private static final Log LOG = Log.getLog(IndicoFilterTranslator.class);
 
+    @Override
+    protected IndicoFilter createAndExpression(IndicoFilter leftExpression, IndicoFilter rightExpression) {
+        return IndicoFilter.and(leftExpression, rightExpression);
+    }
+
+    @Override
+    protected IndicoFilter createOrExpression(IndicoFilter leftExpression, IndicoFilter rightExpression) {
+        return IndicoFilter.or(leftExpression, rightExpression);
+    }
+
     @Override
     protected IndicoFilter createEqualsExpression(EqualsFilter filter, boolean not) {
-        if (not) {
-            LOG.warn("NOT filters are not supported by Indico connector");
+        Attribute attribute = filter.getAttribute();
+        RecordAttribute recordAttribute = resolve(filter);
+        Object expected = AttributeUtil.getSingleValue(attribute);
+        if (recordAttribute == null || expected == null) {
+            LOG.ok("Ignoring filter for attribute {0} without value", attribute.getName());
             return null;
         }
-        Attribute attribute = filter.getAttribute();
-        String attrName = attribute.getName();
-        String value = AttributeUtil.getAsStringValue(attribute);
-        if (value == null) {
-            LOG.ok("Ignoring filter for attribute {0} without value", attrName);
+        IndicoFilter result;
+        switch (recordAttribute) {
+            case REGISTRATION_ID:
+                result = leaf("EQ", recordAttribute, record -> expected.toString().equals(record.getRegistrationId()), not);
+                if (!not) {
+                    result.setRegistrationId(expected.toString());
+                }
+                return result;
+            case EMAIL:
+                result = leaf("EQ", recordAttribute, record -> expected.toString().equalsIgnoreCase(record.getEmail()), not);
+                if (!not) {
+                    result.setEmail(expected.toString());
+                }
+                return result;
+            case EVENT_ID:
+                Long eventId = toLong(expected);
+                if (eventId == null) {
+                    LOG.warn("Cannot parse eventId value {0}", expected);
+                    return null;
+                }
+                result = leaf("EQ", recordAttribute, record -> eventId.equals(record.getEventId()), not);
+                if (!not) {
+                    result.setEventIds(Collections.singleton(eventId));
+                }
+                return result;
+            default:
+                result = leaf("EQ", recordAttribute, record -> {
+                    Object actual = recordAttribute.valueOf(record);
+                    return actual != null && compare(recordAttribute, actual, expected) == 0;
+                }, not);
+                if (!not) {
+                    if (recordAttribute == RecordAttribute.STATE) {
+                        result.setState(expected.toString());
+                    } else if (recordAttribute == RecordAttribute.CHECKED_IN) {
+                        result.setCheckedIn(Boolean.parseBoolean(expected.toString()));
+                    } else if (recordAttribute == RecordAttribute.PAID) {
+                        result.setPaid(Boolean.parseBoolean(expected.toString()));
+                    }
+                }
+                return result;
+        }
+    }
+
+    @Override
+    protected IndicoFilter createEqualsIgnoreCaseExpression(EqualsIgnoreCaseFilter filter, boolean not) {
+        RecordAttribute recordAttribute = resolve(filter);
+        String expected = filter.getValue();
+        if (recordAttribute == null || expected == null) {
             return null;
         }
+        return leaf("EQ_IGNORE_CASE", recordAttribute, record -> {
+            Object actual = recordAttribute.valueOf(record);
+            return actual != null && expected.equalsIgnoreCase(actual.toString());
+        }, not);
+    }
+
+    @Override
+    protected IndicoFilter createStartsWithExpression(StartsWithFilter filter, boolean not) {
+        return stringExpression("STARTS_WITH", filter, not, String::startsWith);
+    }
+
+    @Override
+    protected IndicoFilter createEndsWithExpression(EndsWithFilter filter, boolean not) {
+        return stringExpression("ENDS_WITH", filter, not, String::endsWith);
+    }
+
+    @Override
+    protected IndicoFilter createContainsExpression(ContainsFilter filter, boolean not) {
+        return stringExpression("CONTAINS", filter, not, String::contains);
+    }
+
+    @Override
+    protected IndicoFilter createGreaterThanExpression(GreaterThanFilter filter, boolean not) {
+        return orderingExpression("GT", filter, not, comparison -> comparison > 0);
+    }
+
+    @Override
+    protected IndicoFilter createGreaterThanOrEqualExpression(GreaterThanOrEqualFilter filter, boolean not) {
+        return orderingExpression("GTE", filter, not, comparison -> comparison >= 0);
+    }
+
+    @Override
+    protected IndicoFilter createLessThanExpression(LessThanFilter filter, boolean not) {
+        return orderingExpression("LT", filter, not, comparison -> comparison < 0);
+    }
+
+    @Override
+    protected IndicoFilter createLessThanOrEqualExpression(LessThanOrEqualFilter filter, boolean not) {
+        return orderingExpression("LTE", filter, not, comparison -> comparison <= 0);
+    }
+
+    private IndicoFilter stringExpression(String operator, StringFilter filter, boolean not, StringMatcher matcher) {
+        RecordAttribute recordAttribute = resolve(filter);
+        String expected = filter.getValue();
+        if (recordAttribute == null || expected == null) {
+            return null;
+        }
+        return leaf(operator, recordAttribute, record -> {
+            Object actual = recordAttribute.valueOf(record);
+            return actual != null && matcher.matches(actual.toString(), expected);
+        }, not);
+    }
+
+    private IndicoFilter orderingExpression(String operator, AttributeFilter filter, boolean not, IntPredicate accept) {
+        RecordAttribute recordAttribute = resolve(filter);
+        Object expected = AttributeUtil.getSingleValue(filter.getAttribute());
+        if (recordAttribute == null || expected == null) {
+            return null;
+        }
+        if (recordAttribute == RecordAttribute.EVENT_ID && toLong(expected) == null) {
+            LOG.warn("Cannot parse eventId value {0}", expected);
+            return null;
+        }
+        IndicoFilter result = leaf(operator, recordAttribute, record -> {
+            Object actual = recordAttribute.valueOf(record);
+            return actual != null && accept.test(compare(recordAttribute, actual, expected));
+        }, not);
+        // A negated bound also matches records without the date, which a range index cannot return.
+        if (recordAttribute.isDate() && !not) {
+            String bound = expected.toString();
+            boolean lower = operator.startsWith("GT");
+            boolean inclusive = operator.endsWith("TE");
+            result.setDateRange(lower
+                    ? new IndicoFilter.DateRange(recordAttribute, bound, inclusive, null, false)
+                    : new IndicoFilter.DateRange(recordAttribute, null, false, bound, inclusive));
+        }
+        return result;
+    }
+
+    private RecordAttribute resolve(AttributeFilter filter) {
+        RecordAttribute recordAttribute = RecordAttribute.forName(filter.getName());
+        if (recordAttribute == null) {
+            LOG.ok("Attribute {0} is not supported for filtering", filter.getName());
+        }
+        return recordAttribute;
+    }
+
+    private static IndicoFilter leaf(String operator, RecordAttribute recordAttribute,
+                                     Predicate<RegistrationRecord> predicate, boolean not) {
         IndicoFilter result = new IndicoFilter();
-        if (Uid.NAME.equals(attrName) || Name.NAME.equals(attrName)) {
-            result.setRegistrationId(value);
-            return result;
+        result.setPredicate(not ? predicate.negate() : predicate);
+        result.setAttributes(EnumSet.of(recordAttribute));
+        String shape = operator + "(" + recordAttribute.getAttributeName() + ")";
+        result.setShape(not ? "NOT(" + shape + ")" : shape);
+        return result;
+    }
+
+    private static int compare(RecordAttribute recordAttribute, Object actual, Object expected) {
+        if (recordAttribute.isDate()) {
+            return IndicoDates.compare(actual.toString(), expected.toString());
         }
-        if ("email".equalsIgnoreCase(attrName)) {
-            result.setEmail(value);
-            return result;
+        if (actual instanceof Long) {
+            Long value = toLong(expected);
+            return value != null ? ((Long) actual).compareTo(value) : 1;
         }
-        if ("eventId".equals(attrName)) {
-            try {
-                result.setEventId(Long.valueOf(value));
-                return result;
-            } catch (NumberFormatException e) {
-                LOG.warn(e, "Cannot parse eventId value {0}", value);
-                return null;
-            }
+        if (actual instanceof Boolean) {
+            return Boolean.compare((Boolean) actual, Boolean.parseBoolean(expected.toString()));
         }
-        LOG.ok("Attribute {0} is not supported for filtering", attrName);
-        return null;
+        return actual.toString().compareTo(expected.toString());
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.valueOf(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface StringMatcher {
+        boolean matches(String actual, String expected);
     }
 }
@@ -0,0 +1,72 @@
+package com.identicum.connectors.indico.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Creates the connector's background executors on daemon platform threads. The Java 21 layer of the
+ * multi-release JAR replaces this class and runs them on virtual threads when asked to.
+ */
+public final class WorkerExecutors {
+
+    private static final Log LOG = Log.getLog(WorkerExecutors.class);
+
+    private static final AtomicBoolean FALLBACK_LOGGED = new AtomicBoolean();
+
+    private WorkerExecutors() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return false;
+    }
+
+    /**
+     * Returns a pool of at most {@code threads} threads whose idle threads time out.
+     */
+    public static ExecutorService bounded(String namePrefix, int threads, boolean virtual) {
+        warnIfUnavailable(virtual);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DaemonThreadFactory(namePrefix));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Returns a pool that starts a thread per task when none is idle; callers bound the number of tasks.
+     */
+    public static ExecutorService unbounded(String namePrefix, boolean virtual) {
+        warnIfUnavailable(virtual);
+        return Executors.newCachedThreadPool(new DaemonThreadFactory(namePrefix));
+    }
+
+    private static void warnIfUnavailable(boolean virtual) {
+        if (virtual && FALLBACK_LOGGED.compareAndSet(false, true)) {
+            LOG.info("Virtual threads require Java 21; using platform threads on Java {0}",
+                    System.getProperty("java.specification.version"));
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        DaemonThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.identicum.connectors.indico.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Process-wide circuit breaker per Indico server. After a run of consecutive failures the circuit opens and
+ * calls are rejected until the open time has passed; then a single probe decides whether it closes again.
+ */
+public final class CircuitBreaker {
+
+    private static final Log LOG = Log.getLog(CircuitBreaker.class);
+
+    private static final Map<String, CircuitBreaker> INSTANCES = new ConcurrentHashMap<>();
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String address;
+    private int failureThreshold;
+    private long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private long probeStartedAtNanos;
+
+    CircuitBreaker(String address, int failureThreshold, long openMillis) {
+        this.address = address;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    public static CircuitBreaker forAddress(String address, int failureThreshold, long openMillis) {
+        CircuitBreaker breaker = INSTANCES.computeIfAbsent(address,
+                key -> new CircuitBreaker(key, failureThreshold, openMillis));
+        breaker.configure(failureThreshold, openMillis);
+        return breaker;
+    }
+
+    public boolean allowRequest() {
+        return allowRequest(System.nanoTime());
+    }
+
+    /**
+     * Returns whether a request may be sent. In the half-open state only one probe is let through per open
+     * interval, so a probe that never reports back cannot keep the circuit stuck.
+     */
+    synchronized boolean allowRequest(long nowNanos) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nowNanos - openedAtNanos < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeStartedAtNanos = nowNanos;
+                LOG.info("Circuit for Indico at {0} is half-open; sending a probe request", address);
+                return true;
+            default:
+                if (nowNanos - probeStartedAtNanos < openNanos) {
+                    return false;
+                }
+                probeStartedAtNanos = nowNanos;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            LOG.info("Circuit for Indico at {0} is closed again", address);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public void onFailure() {
+        onFailure(System.nanoTime());
+    }
+
+    synchronized void onFailure(long nowNanos) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            LOG.warn("Circuit for Indico at {0} is open after {1} consecutive failures; failing fast for {2} ms",
+                    address, consecutiveFailures, TimeUnit.NANOSECONDS.toMillis(openNanos));
+            state = State.OPEN;
+            openedAtNanos = nowNanos;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Milliseconds until an open circuit lets a probe through, or {@code 0} when requests are allowed.
+     */
+    public synchronized long remainingOpenMillis() {
+        return state == State.OPEN
+                ? Math.max(0L, TimeUnit.NANOSECONDS.toMillis(openNanos - (System.nanoTime() - openedAtNanos))) : 0L;
+    }
+
+    private synchronized void configure(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+}
@@ -0,0 +1,121 @@
+package com.identicum.connectors.indico.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Wraps response bodies in streaming decoders according to their {@code Content-Encoding}.
+ */
+final class ContentEncodings {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private ContentEncodings() {
+    }
+
+    static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return body;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+            case "":
+            case "identity":
+                return body;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(body, BUFFER_SIZE);
+            case "deflate":
+                return inflate(body);
+            default:
+                throw new IOException("Unsupported response Content-Encoding: " + contentEncoding);
+        }
+    }
+
+    /**
+     * As {@link #decode(InputStream, String)}, deferred until the body is first read: bodiless responses such as a
+     * 304 or 204 then never reach the decoder, which would fail reading a gzip header from an empty body.
+     */
+    static InputStream decodeLazily(InputStream body, String contentEncoding) {
+        return new LazyDecodingInputStream(body, contentEncoding);
+    }
+
+    /**
+     * Reads an error body for a message. Error pages are small and may carry an encoding the client cannot
+     * decode, in which case the raw bytes are returned rather than hiding the status behind a decoding failure.
+     */
+    static String readErrorBody(InputStream body, String contentEncoding) throws IOException {
+        byte[] raw = body.readAllBytes();
+        try (InputStream decoded = decode(new ByteArrayInputStream(raw), contentEncoding)) {
+            return new String(decoded.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return new String(raw, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * "deflate" is meant to be zlib-wrapped, but some servers send raw deflate data; the zlib header is sniffed.
+     */
+    private static InputStream inflate(InputStream body) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(body, 2);
+        byte[] header = new byte[2];
+        int read = pushback.readNBytes(header, 0, 2);
+        pushback.unread(header, 0, read);
+        boolean zlib = read == 2
+                && (header[0] & 0x0F) == 8
+                && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+        return new InflaterInputStream(pushback, new Inflater(!zlib), BUFFER_SIZE);
+    }
+
+    private static final class LazyDecodingInputStream extends InputStream {
+
+        private final InputStream body;
+        private final String contentEncoding;
+        private InputStream decoded;
+
+        LazyDecodingInputStream(InputStream body, String contentEncoding) {
+            this.body = body;
+            this.contentEncoding = contentEncoding;
+        }
+
+        private InputStream decoded() throws IOException {
+            if (decoded == null) {
+                decoded = decode(body, contentEncoding);
+            }
+            return decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return decoded().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return decoded().read(buffer, offset, length);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return decoded == null ? 0 : decoded.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoded != null) {
+                decoded.close();
+            } else {
+                body.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.identicum.connectors.indico.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Size-bounded on-disk cache of response bodies used to revalidate requests with {@code If-None-Match} and
+ * {@code If-Modified-Since}. Entries survive restarts; one instance is shared per directory.
+ */
+public final class DiskResponseCache {
+
+    private static final Log LOG = Log.getLog(DiskResponseCache.class);
+
+    private static final Map<Path, DiskResponseCache> INSTANCES = new ConcurrentHashMap<>();
+
+    /** Parameters added per request by the authenticator; they never take part in the cache key. */
+    private static final List<String> VOLATILE_PARAMETERS = List.of("timestamp", "signature");
+
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+    private static final int TRAILING_BYTES_LIMIT = 8 * 1024;
+
+    private final Path directory;
+    private volatile long maxBytes;
+    private long currentBytes;
+
+    private DiskResponseCache(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        this.currentBytes = scan();
+    }
+
+    public static DiskResponseCache forDirectory(String directory, long maxBytes) {
+        Path path = Path.of(directory).toAbsolutePath().normalize();
+        DiskResponseCache cache = INSTANCES.computeIfAbsent(path, key -> {
+            try {
+                return new DiskResponseCache(key, maxBytes);
+            } catch (IOException e) {
+                LOG.warn(e, "Response cache directory {0} is not usable; caching disabled", key);
+                return null;
+            }
+        });
+        if (cache != null) {
+            cache.maxBytes = maxBytes;
+        }
+        return cache;
+    }
+
+    /**
+     * Canonical key of a request: path and sorted parameters without volatile authentication parameters,
+     * scoped by the credential fingerprint so that cached bodies are never shared across identities.
+     */
+    public static String key(String path, Map<String, String> parameters, String credentialFingerprint) {
+        StringBuilder canonical = new StringBuilder(path).append('?');
+        for (Map.Entry<String, String> entry : new TreeMap<>(parameters).entrySet()) {
+            if (!VOLATILE_PARAMETERS.contains(entry.getKey())) {
+                canonical.append(entry.getKey()).append('=').append(entry.getValue()).append('&');
+            }
+        }
+        canonical.append('#').append(credentialFingerprint);
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Entry lookup(String key) {
+        Path meta = directory.resolve(key + META_SUFFIX);
+        Path body = directory.resolve(key + BODY_SUFFIX);
+        if (!Files.isRegularFile(meta) || !Files.isRegularFile(body)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            long length = Long.parseLong(properties.getProperty("length", "-1"));
+            if (length != Files.size(body)) {
+                return null;
+            }
+            return new Entry(body, properties.getProperty("etag"), properties.getProperty("lastModified"));
+        } catch (IOException | NumberFormatException e) {
+            LOG.ok("Ignoring unreadable response cache entry {0}: {1}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Removes the entry for the key, for instance after its body could no longer be read.
+     */
+    public synchronized void invalidate(String key) {
+        Path body = directory.resolve(key + BODY_SUFFIX);
+        try {
+            long size = Files.exists(body) ? Files.size(body) : 0L;
+            Files.deleteIfExists(directory.resolve(key + META_SUFFIX));
+            Files.deleteIfExists(body);
+            currentBytes -= size;
+        } catch (IOException e) {
+            LOG.ok("Cannot remove response cache entry {0}: {1}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a stream that passes the body through while copying it to the cache. The entry is committed when
+     * the stream is closed after the body was read completely.
+     */
+    public InputStream store(String key, String etag, String lastModified, InputStream body) {
+        if (etag == null && lastModified == null) {
+            return body;
+        }
+        try {
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            return new CachingInputStream(body, key, etag, lastModified, temp);
+        } catch (IOException e) {
+            LOG.warn(e, "Cannot write response cache entry {0}", key);
+            return body;
+        }
+    }
+
+    private void commit(String key, String etag, String lastModified, Path temp) throws IOException {
+        long length = Files.size(temp);
+        if (length > maxBytes) {
+            Files.deleteIfExists(temp);
+            return;
+        }
+        Properties properties = new Properties();
+        if (etag != null) {
+            properties.setProperty("etag", etag);
+        }
+        if (lastModified != null) {
+            properties.setProperty("lastModified", lastModified);
+        }
+        properties.setProperty("length", String.valueOf(length));
+        Path body = directory.resolve(key + BODY_SUFFIX);
+        Path meta = directory.resolve(key + META_SUFFIX);
+        Path metaTemp = Files.createTempFile(directory, key, ".tmp");
+        try (Writer writer = Files.newBufferedWriter(metaTemp, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        synchronized (this) {
+            long previous = Files.exists(body) ? Files.size(body) : 0L;
+            Files.move(temp, body, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(metaTemp, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            currentBytes += length - previous;
+            evict();
+        }
+    }
+
+    private void evict() throws IOException {
+        if (currentBytes <= maxBytes) {
+            return;
+        }
+        List<Path> bodies = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + BODY_SUFFIX)) {
+            stream.forEach(bodies::add);
+        }
+        bodies.sort(Comparator.comparing(DiskResponseCache::lastModified));
+        for (Path body : bodies) {
+            if (currentBytes <= maxBytes) {
+                return;
+            }
+            long size = Files.size(body);
+            String name = body.getFileName().toString();
+            Files.deleteIfExists(directory.resolve(name.substring(0, name.length() - BODY_SUFFIX.length()) + META_SUFFIX));
+            Files.deleteIfExists(body);
+            currentBytes -= size;
+        }
+    }
+
+    private long scan() throws IOException {
+        long total = 0L;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(BODY_SUFFIX)) {
+                    total += Files.size(file);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0L);
+        }
+    }
+
+    /**
+     * Validators and body of a cached response.
+     */
+    public static final class Entry {
+
+        private final Path body;
+        private final String etag;
+        private final String lastModified;
+
+        Entry(Path body, String etag, String lastModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public InputStream openBody() throws IOException {
+            try {
+                // Revalidated entries become most recently used for eviction purposes.
+                Files.setLastModifiedTime(body, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException e) {
+                LOG.ok("Cannot touch response cache entry {0}", body);
+            }
+            return Files.newInputStream(body);
+        }
+    }
+
+    private final class CachingInputStream extends FilterInputStream {
+
+        private final String key;
+        private final String etag;
+        private final String lastModified;
+        private final Path temp;
+        private final OutputStream copy;
+        private boolean complete;
+        private boolean failed;
+        private boolean closed;
+
+        CachingInputStream(InputStream body, String key, String etag, String lastModified, Path temp) throws IOException {
+            super(body);
+            this.key = key;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.temp = temp;
+            this.copy = Files.newOutputStream(temp);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value < 0) {
+                complete = true;
+            } else if (!failed) {
+                try {
+                    copy.write(value);
+                } catch (IOException e) {
+                    failed = true;
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count < 0) {
+                complete = true;
+            } else if (!failed) {
+                try {
+                    copy.write(buffer, offset, count);
+                } catch (IOException e) {
+                    failed = true;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must still reach the cache copy.
+            byte[] buffer = new byte[(int) Math.min(Math.max(n, 0L), 8192L)];
+            int count = read(buffer, 0, buffer.length);
+            return Math.max(count, 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                drainTrailingBytes();
+            } finally {
+                super.close();
+                copy.close();
+                if (complete && !failed) {
+                    try {
+                        commit(key, etag, lastModified, temp);
+                    } catch (IOException e) {
+                        LOG.warn(e, "Cannot commit response cache entry {0}", key);
+                        Files.deleteIfExists(temp);
+                    }
+                } else {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+
+        /**
+         * Parsers stop at the end of the JSON document; trailing whitespace is read so the entry can be committed.
+         */
+        private void drainTrailingBytes() {
+            byte[] buffer = new byte[1024];
+            int drained = 0;
+            try {
+                while (!complete && drained < TRAILING_BYTES_LIMIT) {
+                    int count = read(buffer, 0, buffer.length);
+                    if (count > 0) {
+                        drained += count;
+                    }
+                }
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.identicum.connectors.indico.http;
+
+import com.identicum.connectors.indico.IndicoConfiguration;
+import com.identicum.connectors.indico.concurrent.WorkerExecutors;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+
+/**
+ * Process-wide, reference-counted {@link HttpClient} instances shared by connectors with the same connection
+ * settings, so that pooled connector instances reuse connections. The last release shuts the executors down.
+ */
+public final class HttpClientRegistry {
+
+    private static final Log LOG = Log.getLog(HttpClientRegistry.class);
+
+    private static final HttpClientRegistry SHARED = new HttpClientRegistry();
+
+    private final Map<List<Object>, SharedClient> clients = new HashMap<>();
+
+    HttpClientRegistry() {
+    }
+
+    public static HttpClientRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a lease on the client for the given settings, creating it on first use.
+     */
+    public synchronized Lease acquire(URI baseUri, IndicoConfiguration configuration) {
+        List<Object> key = List.of(baseUri.getScheme() + "://" + baseUri.getAuthority(),
+                configuration.isTrustAllCertificates(), configuration.isHttp2Enabled(),
+                configuration.getConnectTimeoutMs(), threads(configuration), configuration.isVirtualThreadsEnabled());
+        SharedClient shared = clients.computeIfAbsent(key, ignored -> new SharedClient(key, configuration));
+        shared.references++;
+        return new Lease(shared);
+    }
+
+    synchronized int size() {
+        return clients.size();
+    }
+
+    private synchronized void release(SharedClient shared) {
+        if (--shared.references == 0) {
+            clients.remove(shared.key);
+            shared.executor.shutdown();
+            shared.parseExecutor.shutdown();
+            LOG.ok("Released shared HTTP client for {0}", shared.key.get(0));
+        }
+    }
+
+    private static int threads(IndicoConfiguration configuration) {
+        Integer threads = configuration.getHttpClientThreads();
+        return threads != null ? threads : 4;
+    }
+
+    /**
+     * A reference to a shared client; {@link #release()} must be called once the owner is disposed.
+     */
+    public final class Lease {
+
+        private final SharedClient shared;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(SharedClient shared) {
+            this.shared = shared;
+        }
+
+        public HttpClient client() {
+            return shared.client;
+        }
+
+        /**
+         * The bounded pool the shared client completes its asynchronous exchanges on.
+         */
+        public Executor executor() {
+            return shared.executor;
+        }
+
+        /**
+         * The bounded pool asynchronous exchanges stream and parse response bodies on. Reading a body blocks until
+         * it has arrived, so this is kept apart from the pool the client needs to deliver the bytes.
+         */
+        public Executor parseExecutor() {
+            return shared.parseExecutor;
+        }
+
+        /**
+         * Opens a connection to the server in the background, once per shared client, so that the first real
+         * request finds a warm connection. The response itself is discarded.
+         */
+        public void prewarm(URI uri) {
+            if (!shared.prewarmed.compareAndSet(false, true)) {
+                return;
+            }
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofMillis(shared.connectTimeoutMs))
+                    .build();
+            shared.client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            LOG.ok("Prewarming connection to {0} failed: {1}", uri, error.getMessage());
+                        }
+                    });
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                HttpClientRegistry.this.release(shared);
+            }
+        }
+    }
+
+    private static final class SharedClient {
+
+        private final List<Object> key;
+        private final ExecutorService executor;
+        private final ExecutorService parseExecutor;
+        private final HttpClient client;
+        private final long connectTimeoutMs;
+        private final AtomicBoolean prewarmed = new AtomicBoolean();
+        private int references;
+
+        SharedClient(List<Object> key, IndicoConfiguration configuration) {
+            this.key = key;
+            this.executor = WorkerExecutors.bounded("indico-http", threads(configuration),
+                    configuration.isVirtualThreadsEnabled());
+            this.parseExecutor = WorkerExecutors.bounded("indico-parse", threads(configuration),
+                    configuration.isVirtualThreadsEnabled());
+            this.connectTimeoutMs = configuration.getConnectTimeoutMs();
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(configuration.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofMillis(configuration.getConnectTimeoutMs()))
+                    .executor(executor);
+            if (configuration.isTrustAllCertificates()) {
+                builder.sslContext(createTrustAllContext());
+            }
+            this.client = builder.build();
+        }
+
+        private static SSLContext createTrustAllContext() {
+            try {
+                TrustManager[] trustAll = new TrustManager[]{new X509TrustManager() {
+                    @Override
+                    public void checkClientTrusted(java.security.cert.X509Certificate[] chain, String authType) {
+                    }
+
+                    @Override
+                    public void checkServerTrusted(java.security.cert.X509Certificate[] chain, String authType) {
+                    }
+
+                    @Override
+                    public java.security.cert.X509Certificate[] getAcceptedIssuers() {
+                        return new java.security.cert.X509Certificate[0];
+                    }
+                }};
+                SSLContext sslContext = SSLContext.getInstance("TLS");
+                sslContext.init(null, trustAll, new java.security.SecureRandom());
+                return sslContext;
+            } catch (NoSuchAlgorithmException | KeyManagementException e) {
+                throw new ConnectorIOException("Cannot create SSL context", e);
+            }
+        }
+    }
+}
@@ -2,22 +2,26 @@ package com.identicum.connectors.indico.http;
 
 import com.identicum.connectors.indico.IndicoAuthenticator;
 import com.identicum.connectors.indico.IndicoConfiguration;
+import com.identicum.connectors.indico.metrics.HttpRequestEvent;
+import com.identicum.connectors.indico.metrics.IndicoMetrics;
+import com.identicum.connectors.indico.metrics.SearchTrace;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
 import org.identityconnectors.framework.common.exceptions.ConnectorSecurityException;
@@ -32,45 +36,167 @@ public class IndicoHttpClient {
 
     private static final Log LOG = Log.getLog(IndicoHttpClient.class);
 
+    private static final int MAX_TEMPLATES = 256;
+    private static final long MAX_BACKOFF_MS = 60_000L;
+
+    private final HttpClientRegistry.Lease lease;
     private final HttpClient httpClient;
+    private final Executor executor;
+    private final Executor parseExecutor;
     private final URI baseUri;
     private final IndicoAuthenticator authenticator;
     private final IndicoConfiguration configuration;
+    private final DiskResponseCache responseCache;
+    private final String credentialFingerprint;
+    private final String[] headers;
+    private final Duration readTimeout;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final IndicoMetrics metrics;
+    private volatile long lastSuccessNanos;
+    private volatile boolean succeeded;
+    private final Map<Map.Entry<String, Map<String, String>>, RequestTemplate> templates = Collections.synchronizedMap(
+            new LinkedHashMap<Map.Entry<String, Map<String, String>>, RequestTemplate>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Map.Entry<String, Map<String, String>>, RequestTemplate> eldest) {
+                    return size() > MAX_TEMPLATES;
+                }
+            });
 
     public IndicoHttpClient(IndicoConfiguration configuration, IndicoAuthenticator authenticator) {
         this.configuration = configuration;
         this.authenticator = authenticator;
         this.baseUri = authenticator.normalize(configuration.getServiceAddress());
-        this.httpClient = buildClient(configuration);
+        this.lease = HttpClientRegistry.shared().acquire(baseUri, configuration);
+        this.httpClient = lease.client();
+        this.executor = lease.executor();
+        this.parseExecutor = lease.parseExecutor();
+        this.responseCache = configuration.optionalResponseCacheDirectory()
+                .map(directory -> DiskResponseCache.forDirectory(directory,
+                        configuration.getResponseCacheMaxBytes() != null ? configuration.getResponseCacheMaxBytes() : Long.MAX_VALUE))
+                .orElse(null);
+        this.credentialFingerprint = responseCache != null ? authenticator.credentialFingerprint() : null;
+        // Headers, including the decrypted token, are resolved once per client.
+        Map<String, String> defaultHeaders = new LinkedHashMap<>(authenticator.defaultHeaders());
+        if (configuration.isCompressionEnabled()) {
+            defaultHeaders.put("Accept-Encoding", ContentEncodings.ACCEPT_ENCODING);
+        }
+        this.headers = flatten(defaultHeaders);
+        this.readTimeout = Duration.ofMillis(configuration.getReadTimeoutMs());
+        Integer maxRequestsPerSecond = configuration.getMaxRequestsPerSecond();
+        this.rateLimiter = maxRequestsPerSecond != null && maxRequestsPerSecond > 0
+                ? RateLimiter.forAddress(baseUri.toString(), maxRequestsPerSecond) : null;
+        this.circuitBreaker = configuration.isCircuitBreakerEnabled()
+                ? CircuitBreaker.forAddress(baseUri.toString(), configuration.getCircuitBreakerFailureThreshold(),
+                        TimeUnit.SECONDS.toMillis(configuration.getCircuitBreakerOpenSeconds()))
+                : null;
+        Integer retryBudgetPercent = configuration.getRetryBudgetPercent();
+        this.retryBudget = retryBudgetPercent != null ? RetryBudget.forAddress(baseUri.toString(), retryBudgetPercent) : null;
+        this.metrics = IndicoMetrics.forAddress(baseUri.toString());
+        RateLimiter limiter = rateLimiter;
+        CircuitBreaker breaker = circuitBreaker;
+        metrics.bindGauges(limiter != null ? limiter::currentRate : () -> -1.0,
+                breaker != null ? () -> breaker.getState().name() : () -> "DISABLED");
+    }
+
+    /**
+     * Consumes a successful response body. Implementations read directly from the network stream.
+     */
+    @FunctionalInterface
+    public interface ResponseReader<T> {
+        T read(InputStream body) throws IOException;
     }
 
     public String get(String path, Map<String, String> queryParameters) {
-        String normalizedPath = path.startsWith("/") ? path : "/" + path;
-        Map<String, String> enriched = authenticator.enrichQueryParameters(normalizedPath, queryParameters);
-        URI uri = buildUri(normalizedPath, enriched);
-        HttpRequest.Builder builder = HttpRequest.newBuilder()
-                .GET()
-                .uri(uri)
-                .timeout(Duration.ofMillis(configuration.getReadTimeoutMs()))
-                .headers(flatten(authenticator.defaultHeaders()));
+        return get(path, queryParameters, IndicoHttpClient::readBody);
+    }
+
+    public <T> T get(String path, Map<String, String> queryParameters, ResponseReader<T> reader) {
+        return get(path, queryParameters, Collections.emptyMap(), reader);
+    }
+
+    /**
+     * Issues a GET whose fixed parameters are compiled into a reusable request template; only the request
+     * parameters (paging) are encoded on every call.
+     */
+    public <T> T get(String path, Map<String, String> fixedParameters, Map<String, String> requestParameters,
+                     ResponseReader<T> reader) {
+        return get(path, fixedParameters, requestParameters, reader, null);
+    }
+
+    /**
+     * As {@link #get(String, Map, Map, ResponseReader)}, reporting pacing, waiting, reading, parsing and retries to
+     * the given trace when it is not {@code null}.
+     */
+    public <T> T get(String path, Map<String, String> fixedParameters, Map<String, String> requestParameters,
+                     ResponseReader<T> reader, SearchTrace trace) {
+        Exchange exchange = exchange(path, fixedParameters, requestParameters);
+        HttpRequest request = exchange.request();
 
         int attempts = 0;
-        int maxAttempts = Math.max(1, configuration.getRetryMax() + 1);
+        int maxAttempts = maxAttempts();
         long backoffBase = configuration.getRetryBackoffBaseMs();
 
+        if (retryBudget != null) {
+            retryBudget.onRequest();
+        }
         while (true) {
             attempts++;
+            checkCircuit();
+            HttpRequestEvent event = new HttpRequestEvent();
             try {
-                LOG.ok("GET {0}", uri);
-                HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
-                if (isSuccess(response.statusCode())) {
-                    return response.body();
+                if (rateLimiter != null) {
+                    long throttledNanos = rateLimiter.acquire();
+                    if (trace != null) {
+                        trace.onThrottled(throttledNanos);
+                    }
                 }
-                if (shouldRetry(response.statusCode(), attempts, maxAttempts)) {
-                    sleepBackoff(backoffBase, attempts);
-                    continue;
+                LOG.ok("GET {0}", exchange.uri);
+                event.begin();
+                long startNanos = System.nanoTime();
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                TimedInputStream network = new TimedInputStream(response.body());
+                String contentEncoding = response.headers().firstValue("Content-Encoding").orElse(null);
+                try (InputStream raw = new CountingInputStream(network, count -> {
+                    metrics.onBytes(count);
+                    event.bytes = count;
+                });
+                     InputStream body = ContentEncodings.decodeLazily(raw, contentEncoding)) {
+                    long retryAfterMillis = recordOutcome(response, startNanos);
+                    event.status = response.statusCode();
+                    if (trace != null) {
+                        trace.onHttpWait(System.nanoTime() - startNanos);
+                    }
+                    if (exchange.isReadable(response.statusCode())) {
+                        long readStart = System.nanoTime();
+                        T result = exchange.read(response, body, reader);
+                        if (trace != null) {
+                            trace.onBodyRead(network.nanos());
+                            trace.onParse(System.nanoTime() - readStart - network.nanos());
+                        }
+                        return result;
+                    }
+                    if (shouldRetry(response.statusCode(), attempts, maxAttempts)) {
+                        event.end();
+                        // With a rate limiter the Retry-After pause is shared and enforced by acquire().
+                        long slept = sleepBackoff(backoffBase, attempts, rateLimiter != null ? 0L : retryAfterMillis);
+                        if (trace != null) {
+                            trace.onRetry(TimeUnit.MILLISECONDS.toNanos(slept));
+                        }
+                        continue;
+                    }
+                    handleErrorStatus(exchange.uri, response.statusCode(),
+                            ContentEncodings.readErrorBody(raw, contentEncoding));
                 }
-                handleErrorStatus(uri, response.statusCode(), response.body());
+            } catch (CachedBodyUnavailableException e) {
+                // The entry went away locally after the lookup; that says nothing about Indico, so repeat the
+                // request once without validators instead of spending a retry on it.
+                LOG.ok("Cached body for {0} is gone; requesting it again: {1}", exchange.uri, e.getMessage());
+                exchange.dropCached();
+                request = exchange.request();
+                maxAttempts++;
+                continue;
             } catch (RetryableException e) {
                 throw e;
             } catch (UnknownUidException e) {
@@ -80,16 +206,245 @@ public class IndicoHttpClient {
             } catch (InvalidAttributeValueException e) {
                 throw e;
             } catch (IOException e) {
-                if (attempts < maxAttempts) {
-                    sleepBackoff(backoffBase, attempts);
+                event.end();
+                metrics.onIoError();
+                if (circuitBreaker != null) {
+                    circuitBreaker.onFailure();
+                }
+                if (attempts < maxAttempts && withinRetryBudget()) {
+                    long slept = sleepBackoff(backoffBase, attempts, 0L);
+                    if (trace != null) {
+                        trace.onRetry(TimeUnit.MILLISECONDS.toNanos(slept));
+                    }
                     continue;
                 }
                 throw new ConnectorIOException("I/O error calling Indico: " + e.getMessage(), e);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new ConnectorIOException("Interrupted while calling Indico", e);
+            } finally {
+                commit(event, exchange, attempts, false);
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(String, Map, Map, ResponseReader)} built on {@code sendAsync}: no thread
+     * waits for the response headers, pacing and retry delays are scheduled instead of slept, and the body is
+     * streamed into the reader on a dedicated parse pool rather than buffered whole. The future fails with the
+     * same exceptions the blocking call throws.
+     */
+    public <T> CompletableFuture<T> getAsync(String path, Map<String, String> fixedParameters,
+                                             Map<String, String> requestParameters, ResponseReader<T> reader) {
+        return getAsync(path, fixedParameters, requestParameters, reader, null);
+    }
+
+    /**
+     * As {@link #getAsync(String, Map, Map, ResponseReader)}, reporting to the given trace when it is not
+     * {@code null}.
+     */
+    public <T> CompletableFuture<T> getAsync(String path, Map<String, String> fixedParameters,
+                                             Map<String, String> requestParameters, ResponseReader<T> reader,
+                                             SearchTrace trace) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            Exchange exchange = exchange(path, fixedParameters, requestParameters);
+            if (retryBudget != null) {
+                retryBudget.onRequest();
+            }
+            attemptAsync(exchange, exchange.request(), 1, reader, trace, result);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private <T> void attemptAsync(Exchange exchange, HttpRequest request, int attempt, ResponseReader<T> reader,
+                                  SearchTrace trace, CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            sendAsync(exchange, request, attempt, reader, trace, result);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private <T> void sendAsync(Exchange exchange, HttpRequest request, int attempt, ResponseReader<T> reader,
+                               SearchTrace trace, CompletableFuture<T> result) {
+        checkCircuit();
+        HttpRequestEvent event = new HttpRequestEvent();
+        long waitNanos = rateLimiter != null ? rateLimiter.reserve(System.nanoTime()) : 0L;
+        if (trace != null && waitNanos > 0L) {
+            trace.onThrottled(waitNanos);
+        }
+        Executor sender = waitNanos > 0L
+                ? CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, executor) : executor;
+        long[] startNanos = new long[1];
+        CompletableFuture
+                .supplyAsync(() -> {
+                    LOG.ok("GET {0}", exchange.uri);
+                    event.begin();
+                    startNanos[0] = System.nanoTime();
+                    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+                }, sender)
+                .thenCompose(response -> response)
+                .whenCompleteAsync((response, error) -> {
+                    try {
+                        if (error != null) {
+                            retryAfterIoError(exchange, request, attempt, reader, trace, result, unwrap(error));
+                            return;
+                        }
+                        receiveAsync(exchange, request, attempt, reader, trace, result, response, startNanos[0], event);
+                    } finally {
+                        commit(event, exchange, attempt, true);
+                    }
+                }, parseExecutor);
+    }
+
+    /**
+     * Streams and parses the body of an asynchronous exchange, or schedules its retry. Runs on the parse executor:
+     * reading blocks until the body has arrived, which must not tie up the threads the client delivers it with.
+     */
+    private <T> void receiveAsync(Exchange exchange, HttpRequest request, int attempt, ResponseReader<T> reader,
+                                  SearchTrace trace, CompletableFuture<T> result, HttpResponse<InputStream> response,
+                                  long startNanos, HttpRequestEvent event) {
+        long retryAfterMillis = recordOutcome(response, startNanos);
+        event.status = response.statusCode();
+        if (trace != null) {
+            trace.onHttpWait(System.nanoTime() - startNanos);
+        }
+        TimedInputStream network = new TimedInputStream(response.body());
+        String contentEncoding = response.headers().firstValue("Content-Encoding").orElse(null);
+        try (InputStream raw = new CountingInputStream(network, count -> {
+            metrics.onBytes(count);
+            event.bytes = count;
+        });
+             InputStream body = ContentEncodings.decodeLazily(raw, contentEncoding)) {
+            if (exchange.isReadable(response.statusCode())) {
+                long readStart = System.nanoTime();
+                T value = exchange.read(response, body, reader);
+                if (trace != null) {
+                    trace.onBodyRead(network.nanos());
+                    trace.onParse(System.nanoTime() - readStart - network.nanos());
+                }
+                result.complete(value);
+                return;
+            }
+            if (shouldRetry(response.statusCode(), attempt, maxAttempts())) {
+                long delay = backoffMillis(configuration.getRetryBackoffBaseMs(), attempt,
+                        rateLimiter != null ? 0L : retryAfterMillis);
+                if (trace != null) {
+                    trace.onRetry(TimeUnit.MILLISECONDS.toNanos(delay));
+                }
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)
+                        .execute(() -> attemptAsync(exchange, request, attempt + 1, reader, trace, result));
+                return;
+            }
+            handleErrorStatus(exchange.uri, response.statusCode(), ContentEncodings.readErrorBody(raw, contentEncoding));
+        } catch (CachedBodyUnavailableException e) {
+            LOG.ok("Cached body for {0} is gone; requesting it again: {1}", exchange.uri, e.getMessage());
+            exchange.dropCached();
+            executor.execute(() -> attemptAsync(exchange, exchange.request(), attempt, reader, trace, result));
+        } catch (IOException e) {
+            result.completeExceptionally(new ConnectorIOException("I/O error calling Indico: " + e.getMessage(), e));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private <T> void retryAfterIoError(Exchange exchange, HttpRequest request, int attempt, ResponseReader<T> reader,
+                                       SearchTrace trace, CompletableFuture<T> result, Throwable error) {
+        if (!(error instanceof IOException)) {
+            result.completeExceptionally(error instanceof RuntimeException ? error
+                    : new ConnectorIOException("Failed calling Indico: " + error.getMessage(), error));
+            return;
+        }
+        metrics.onIoError();
+        if (circuitBreaker != null) {
+            circuitBreaker.onFailure();
+        }
+        if (attempt < maxAttempts() && withinRetryBudget()) {
+            long delay = backoffMillis(configuration.getRetryBackoffBaseMs(), attempt, 0L);
+            if (trace != null) {
+                trace.onRetry(TimeUnit.MILLISECONDS.toNanos(delay));
+            }
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)
+                    .execute(() -> attemptAsync(exchange, request, attempt + 1, reader, trace, result));
+            return;
+        }
+        result.completeExceptionally(new ConnectorIOException("I/O error calling Indico: " + error.getMessage(), error));
+    }
+
+    private static void commit(HttpRequestEvent event, Exchange exchange, int attempt, boolean async) {
+        if (event.shouldCommit()) {
+            event.path = exchange.uri.getPath();
+            event.attempt = attempt;
+            event.async = async;
+            event.commit();
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException) && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private Exchange exchange(String path, Map<String, String> fixedParameters, Map<String, String> requestParameters) {
+        RequestTemplate template = template(path, fixedParameters);
+        String cacheKey = responseCache != null
+                ? DiskResponseCache.key(template.getPath(), template.parameters(requestParameters), credentialFingerprint)
+                : null;
+        return new Exchange(template.uri(requestParameters), cacheKey,
+                cacheKey != null ? responseCache.lookup(cacheKey) : null);
+    }
+
+    private int maxAttempts() {
+        return Math.max(1, configuration.getRetryMax() + 1);
+    }
+
+    private void checkCircuit() {
+        if (circuitBreaker != null && !circuitBreaker.allowRequest()) {
+            throw new ConnectorIOException(String.format("Circuit for Indico at %s is open; failing fast for another %d ms",
+                    baseUri, circuitBreaker.remainingOpenMillis()));
+        }
+    }
+
+    /**
+     * Feeds the response status to the metrics, liveness tracking, circuit breaker and rate limiter, and returns
+     * the {@code Retry-After} delay announced by a throttling answer.
+     */
+    private long recordOutcome(HttpResponse<?> response, long startNanos) {
+        int status = response.statusCode();
+        metrics.onResponse(status, System.nanoTime() - startNanos);
+        if (status < 400) {
+            lastSuccessNanos = System.nanoTime();
+            succeeded = true;
+        }
+        if (circuitBreaker != null) {
+            if (status >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+        }
+        long retryAfterMillis = retryAfterMillis(response);
+        if (rateLimiter != null) {
+            if (isThrottled(status)) {
+                rateLimiter.onThrottled(retryAfterMillis);
+            } else if (status < 500) {
+                rateLimiter.onSuccess();
             }
         }
+        return retryAfterMillis;
+    }
+
+    private static String readBody(InputStream body) throws IOException {
+        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
     }
 
     private void handleErrorStatus(URI uri, int statusCode, String body) {
@@ -117,37 +472,105 @@ public class IndicoHttpClient {
         if (attempts >= maxAttempts) {
             return false;
         }
-        return statusCode == 429 || (statusCode >= 500 && statusCode < 600);
+        return (statusCode == 429 || (statusCode >= 500 && statusCode < 600)) && withinRetryBudget();
+    }
+
+    private long retryAfterMillis(HttpResponse<?> response) {
+        return isThrottled(response.statusCode())
+                ? RetryAfter.parseMillis(response.headers().firstValue("Retry-After").orElse(null)) : 0L;
+    }
+
+    private boolean withinRetryBudget() {
+        if (retryBudget == null || retryBudget.tryRetry()) {
+            metrics.onRetry();
+            return true;
+        }
+        LOG.info("Retry budget for Indico at {0} is spent; not retrying", baseUri);
+        return false;
+    }
+
+    /**
+     * State of the shared circuit breaker, or {@code null} when it is disabled.
+     */
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker != null ? circuitBreaker.getState() : null;
     }
 
     private boolean isSuccess(int status) {
         return status >= 200 && status < 300;
     }
 
-    private void sleepBackoff(long baseMs, int attempts) {
-        if (baseMs <= 0L) {
-            return;
+    private boolean isThrottled(int status) {
+        return status == 429 || status == 503;
+    }
+
+    /**
+     * Requests per second currently allowed by the shared rate limiter, or {@code -1} when pacing is disabled.
+     */
+    public double currentRequestRate() {
+        return rateLimiter != null ? rateLimiter.currentRate() : -1.0;
+    }
+
+    /**
+     * Returns a random delay up to the exponential backoff ("full jitter") so that callers retrying together
+     * spread out, but never less than the server asked for.
+     */
+    private static long backoffMillis(long baseMs, int attempts, long retryAfterMillis) {
+        long ceiling = baseMs <= 0L ? 0L : Math.min(MAX_BACKOFF_MS, baseMs << Math.min(attempts - 1, 30));
+        return Math.max(retryAfterMillis, ceiling > 0L ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0L);
+    }
+
+    private long sleepBackoff(long baseMs, int attempts, long retryAfterMillis) {
+        long delay = backoffMillis(baseMs, attempts, retryAfterMillis);
+        if (delay <= 0L) {
+            return 0L;
         }
-        long delay = (long) (baseMs * Math.pow(2, attempts - 1));
         try {
             TimeUnit.MILLISECONDS.sleep(delay);
+            return delay;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new ConnectorIOException("Interrupted during retry backoff", e);
         }
     }
 
-    private URI buildUri(String path, Map<String, String> params) {
-        String query = params.entrySet().stream()
-                .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
-                .reduce((a, b) -> a + "&" + b)
-                .orElse("");
-        String base = baseUri.toString();
-        return URI.create(base + path + (query.isEmpty() ? "" : "?" + query));
+    RequestTemplate template(String path, Map<String, String> fixedParameters) {
+        String normalizedPath = path.startsWith("/") ? path : "/" + path;
+        Map.Entry<String, Map<String, String>> key = Map.entry(normalizedPath, Map.copyOf(fixedParameters));
+        RequestTemplate template = templates.get(key);
+        if (template == null) {
+            template = new RequestTemplate(baseUri, normalizedPath, fixedParameters, authenticator);
+            templates.put(key, template);
+        }
+        return template;
     }
 
-    private String encode(String value) {
-        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    /**
+     * Metrics shared by every client of this Indico server.
+     */
+    public IndicoMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Milliseconds since Indico last answered a request successfully, or {@link Long#MAX_VALUE} if it never did.
+     */
+    public long millisSinceLastSuccess() {
+        return succeeded ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastSuccessNanos) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Opens the connection to Indico in the background when the shared client has not done so yet.
+     */
+    public void prewarm() {
+        lease.prewarm(baseUri);
+    }
+
+    /**
+     * Releases this client's reference on the shared {@link HttpClient}.
+     */
+    public void close() {
+        lease.release();
     }
 
     private String[] flatten(Map<String, String> headers) {
@@ -156,36 +579,82 @@ public class IndicoHttpClient {
                 .toArray(String[]::new);
     }
 
-    private HttpClient buildClient(IndicoConfiguration configuration) {
-        HttpClient.Builder builder = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofMillis(configuration.getConnectTimeoutMs()));
-        if (configuration.isTrustAllCertificates()) {
-            builder.sslContext(createTrustAllContext());
+    /**
+     * One logical GET: its URI and, with a response cache, the cache key and the entry used for revalidation.
+     */
+    private final class Exchange {
+
+        private final URI uri;
+        private final String cacheKey;
+        private volatile DiskResponseCache.Entry cached;
+
+        Exchange(URI uri, String cacheKey, DiskResponseCache.Entry cached) {
+            this.uri = uri;
+            this.cacheKey = cacheKey;
+            this.cached = cached;
         }
-        return builder.build();
-    }
 
-    private SSLContext createTrustAllContext() {
-        try {
-            TrustManager[] trustAll = new TrustManager[]{new X509TrustManager() {
-                @Override
-                public void checkClientTrusted(java.security.cert.X509Certificate[] chain, String authType) {
+        HttpRequest request() {
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(uri)
+                    .timeout(readTimeout)
+                    .headers(headers);
+            if (cached != null) {
+                if (cached.getEtag() != null) {
+                    builder.header("If-None-Match", cached.getEtag());
                 }
-
-                @Override
-                public void checkServerTrusted(java.security.cert.X509Certificate[] chain, String authType) {
+                if (cached.getLastModified() != null) {
+                    builder.header("If-Modified-Since", cached.getLastModified());
                 }
+            }
+            return builder.build();
+        }
 
-                @Override
-                public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                    return new java.security.cert.X509Certificate[0];
+        /**
+         * Forgets the cached entry whose body could not be opened, so that the next request carries no
+         * validators and a further {@code 304} is not mistaken for a usable answer.
+         */
+        void dropCached() {
+            responseCache.invalidate(cacheKey);
+            cached = null;
+        }
+
+        boolean isReadable(int status) {
+            return isSuccess(status) || (status == 304 && cached != null);
+        }
+
+        <T> T read(HttpResponse<?> response, InputStream body, ResponseReader<T> reader) throws IOException {
+            if (response.statusCode() == 304) {
+                LOG.ok("Serving {0} from response cache", uri);
+                InputStream opened;
+                try {
+                    opened = cached.openBody();
+                } catch (IOException e) {
+                    throw new CachedBodyUnavailableException(e);
+                }
+                try (InputStream cachedBody = opened) {
+                    return reader.read(cachedBody);
                 }
-            }};
-            SSLContext sslContext = SSLContext.getInstance("TLS");
-            sslContext.init(null, trustAll, new java.security.SecureRandom());
-            return sslContext;
-        } catch (NoSuchAlgorithmException | KeyManagementException e) {
-            throw new ConnectorIOException("Cannot create SSL context", e);
+            }
+            if (cacheKey == null) {
+                return reader.read(body);
+            }
+            try (InputStream teed = responseCache.store(cacheKey,
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null), body)) {
+                return reader.read(teed);
+            }
+        }
+    }
+
+    /**
+     * The body of a revalidated cache entry could not be opened, typically because it was evicted after the lookup.
+     */
+    private static final class CachedBodyUnavailableException extends IOException {
+
+        CachedBodyUnavailableException(IOException cause) {
+            super(cause.getMessage(), cause);
         }
     }
 }
@@ -0,0 +1,111 @@
+package com.identicum.connectors.indico.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Process-wide token bucket pacing the requests sent to one Indico server by all connector instances.
+ * The rate is halved whenever Indico throttles and grows back additively with every successful request;
+ * a {@code Retry-After} pauses every caller until the announced time.
+ */
+public final class RateLimiter {
+
+    private static final Log LOG = Log.getLog(RateLimiter.class);
+
+    private static final Map<String, RateLimiter> INSTANCES = new ConcurrentHashMap<>();
+
+    private static final double MIN_RATE = 0.2;
+    private static final double RECOVERY_FRACTION = 0.02;
+
+    private final String address;
+    private double maxRate;
+    private double rate;
+    private double tokens;
+    private long refilledAtNanos;
+    private long pausedUntilNanos;
+
+    RateLimiter(String address, double maxRate, long nowNanos) {
+        this.address = address;
+        this.maxRate = maxRate;
+        this.rate = maxRate;
+        this.tokens = 1.0;
+        this.refilledAtNanos = nowNanos;
+        this.pausedUntilNanos = nowNanos;
+    }
+
+    public static RateLimiter forAddress(String address, double maxRequestsPerSecond) {
+        RateLimiter limiter = INSTANCES.computeIfAbsent(address,
+                key -> new RateLimiter(key, maxRequestsPerSecond, System.nanoTime()));
+        limiter.setMaxRate(maxRequestsPerSecond);
+        return limiter;
+    }
+
+    /**
+     * Waits until the caller may send a request and returns how long it waited.
+     */
+    public long acquire() throws InterruptedException {
+        long waitNanos = reserve(System.nanoTime());
+        if (waitNanos > 0L) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return Math.max(0L, waitNanos);
+    }
+
+    /**
+     * Takes a token, possibly borrowing from the future, and returns how long the caller must wait for it.
+     */
+    synchronized long reserve(long nowNanos) {
+        refill(nowNanos);
+        tokens -= 1.0;
+        long waitNanos = tokens < 0.0 ? (long) (-tokens / rate * 1_000_000_000L) : 0L;
+        return Math.max(waitNanos, pausedUntilNanos - nowNanos);
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + maxRate * RECOVERY_FRACTION);
+    }
+
+    /**
+     * Records a 429/503 answer: halves the rate and, when Indico announced one, pauses until {@code Retry-After}.
+     */
+    public void onThrottled(long retryAfterMillis) {
+        onThrottled(retryAfterMillis, System.nanoTime());
+    }
+
+    synchronized void onThrottled(long retryAfterMillis, long nowNanos) {
+        refill(nowNanos);
+        double previous = rate;
+        rate = Math.max(Math.min(MIN_RATE, maxRate), rate / 2.0);
+        tokens = Math.min(tokens, 0.0);
+        if (retryAfterMillis > 0L) {
+            pausedUntilNanos = Math.max(pausedUntilNanos, nowNanos + retryAfterMillis * 1_000_000L);
+        }
+        LOG.info("Indico at {0} is throttling; request rate lowered from {1} to {2} per second, retry after {3} ms",
+                address, String.format("%.2f", previous), String.format("%.2f", rate), retryAfterMillis);
+    }
+
+    /**
+     * Requests per second currently allowed.
+     */
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    private synchronized void setMaxRate(double maxRequestsPerSecond) {
+        if (maxRequestsPerSecond != maxRate) {
+            maxRate = maxRequestsPerSecond;
+            rate = Math.min(rate, maxRate);
+        }
+    }
+
+    private void refill(long nowNanos) {
+        double elapsedSeconds = (nowNanos - refilledAtNanos) / 1_000_000_000.0;
+        if (elapsedSeconds > 0.0) {
+            // A burst is limited to one second worth of requests.
+            tokens = Math.min(Math.max(1.0, rate), tokens + elapsedSeconds * rate);
+            refilledAtNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.identicum.connectors.indico.http;
+
+import com.identicum.connectors.indico.IndicoAuthenticator;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request URI compiled for a path and its fixed query parameters. The fixed part is encoded once; each call only
+ * encodes the per-request parameters (page token, limit, offset), which must not repeat fixed ones, and, for API
+ * key authentication, the parameters added by signing.
+ */
+final class RequestTemplate {
+
+    private final String path;
+    private final Map<String, String> fixedParameters;
+    private final String prefix;
+    private final boolean hasQuery;
+    private final IndicoAuthenticator authenticator;
+
+    RequestTemplate(URI baseUri, String path, Map<String, String> fixedParameters, IndicoAuthenticator authenticator) {
+        this.path = path;
+        this.fixedParameters = Collections.unmodifiableMap(new LinkedHashMap<>(fixedParameters));
+        this.authenticator = authenticator;
+        StringBuilder builder = new StringBuilder(baseUri.toString()).append(path);
+        boolean first = true;
+        for (Map.Entry<String, String> entry : this.fixedParameters.entrySet()) {
+            builder.append(first ? '?' : '&');
+            appendEncoded(builder, entry.getKey(), entry.getValue());
+            first = false;
+        }
+        this.prefix = builder.toString();
+        this.hasQuery = !first;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    Map<String, String> getFixedParameters() {
+        return fixedParameters;
+    }
+
+    /**
+     * All query parameters of a request before authentication, fixed ones first.
+     */
+    Map<String, String> parameters(Map<String, String> requestParameters) {
+        if (requestParameters.isEmpty()) {
+            return fixedParameters;
+        }
+        Map<String, String> parameters = new LinkedHashMap<>(fixedParameters);
+        parameters.putAll(requestParameters);
+        return parameters;
+    }
+
+    URI uri(Map<String, String> requestParameters) {
+        Map<String, String> appended = authenticator.addsQueryParameters()
+                ? authenticator.enrichQueryParameters(path, parameters(requestParameters))
+                : requestParameters;
+        if (appended.isEmpty()) {
+            return URI.create(prefix);
+        }
+        StringBuilder builder = new StringBuilder(prefix.length() + 32 * appended.size()).append(prefix);
+        boolean first = !hasQuery;
+        for (Map.Entry<String, String> entry : appended.entrySet()) {
+            if (fixedParameters.containsKey(entry.getKey())) {
+                continue;
+            }
+            builder.append(first ? '?' : '&');
+            appendEncoded(builder, entry.getKey(), entry.getValue());
+            first = false;
+        }
+        return URI.create(builder.toString());
+    }
+
+    private static void appendEncoded(StringBuilder builder, String name, String value) {
+        builder.append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                .append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+}
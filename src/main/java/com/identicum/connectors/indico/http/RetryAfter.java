@@ -0,0 +1,39 @@
+package com.identicum.connectors.indico.http;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the {@code Retry-After} header, given either as delta-seconds or as an HTTP date.
+ */
+final class RetryAfter {
+
+    private static final long MAX_MILLIS = 10L * 60 * 1_000;
+
+    private RetryAfter() {
+    }
+
+    /**
+     * Returns the announced delay in milliseconds, capped at ten minutes, or {@code 0} when absent or invalid.
+     */
+    static long parseMillis(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return 0L;
+        }
+        String trimmed = value.trim();
+        long millis;
+        try {
+            millis = Long.parseLong(trimmed) * 1_000L;
+        } catch (NumberFormatException e) {
+            try {
+                millis = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli()
+                        - Instant.now().toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return 0L;
+            }
+        }
+        return Math.max(0L, Math.min(MAX_MILLIS, millis));
+    }
+}
@@ -0,0 +1,48 @@
+package com.identicum.connectors.indico.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cap on retries to one Indico server: every request deposits a fraction of a retry and every
+ * retry withdraws a whole one, so retries stay below the configured share of the traffic. A small reserve
+ * keeps occasional failures retryable on an otherwise idle connector.
+ */
+public final class RetryBudget {
+
+    private static final Map<String, RetryBudget> INSTANCES = new ConcurrentHashMap<>();
+
+    static final double RESERVE = 10.0;
+
+    private double depositPerRequest;
+    private double balance = RESERVE;
+
+    RetryBudget(int percent) {
+        this.depositPerRequest = percent / 100.0;
+    }
+
+    public static RetryBudget forAddress(String address, int percent) {
+        RetryBudget budget = INSTANCES.computeIfAbsent(address, key -> new RetryBudget(percent));
+        budget.setPercent(percent);
+        return budget;
+    }
+
+    public synchronized void onRequest() {
+        balance = Math.min(RESERVE, balance + depositPerRequest);
+    }
+
+    /**
+     * Withdraws one retry; returns {@code false} when the budget is spent.
+     */
+    public synchronized boolean tryRetry() {
+        if (balance < 1.0) {
+            return false;
+        }
+        balance -= 1.0;
+        return true;
+    }
+
+    private synchronized void setPercent(int percent) {
+        this.depositPerRequest = percent / 100.0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.identicum.connectors.indico.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Measures the time spent blocked reading from the network, so a search trace can tell transfer from parsing.
+ */
+final class TimedInputStream extends FilterInputStream {
+
+    private long nanos;
+
+    TimedInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return super.read();
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return super.read(buffer, offset, length);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    long nanos() {
+        return nanos;
+    }
+}
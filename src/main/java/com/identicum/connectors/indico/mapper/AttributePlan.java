@@ -0,0 +1,76 @@
+package com.identicum.connectors.indico.mapper;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-query projection: the registrant fields read from the payload and the attributes placed on each
+ * {@code ConnectorObject}. The uid and the event id are always read.
+ */
+public final class AttributePlan {
+
+    public static final AttributePlan ALL = new AttributePlan(
+            Collections.unmodifiableSet(EnumSet.allOf(RecordAttribute.class)), EnumSet.allOf(RecordAttribute.class), "*");
+
+    private final Set<RecordAttribute> parsed;
+    private final RecordAttribute[] emitted;
+    private final String key;
+
+    private AttributePlan(Set<RecordAttribute> parsed, Set<RecordAttribute> emitted, String key) {
+        this.parsed = parsed;
+        emitted.remove(RecordAttribute.REGISTRATION_ID);
+        this.emitted = emitted.toArray(new RecordAttribute[0]);
+        this.key = key;
+    }
+
+    /**
+     * Builds the plan for the attributes requested by the caller ({@code null} meaning all of them) plus the
+     * attributes the search filter needs to evaluate.
+     */
+    public static AttributePlan of(String[] attributesToGet, Set<RecordAttribute> filterAttributes) {
+        if (attributesToGet == null) {
+            return ALL;
+        }
+        EnumSet<RecordAttribute> emitted = EnumSet.noneOf(RecordAttribute.class);
+        for (String name : attributesToGet) {
+            RecordAttribute attribute = RecordAttribute.forName(name);
+            if (attribute != null) {
+                emitted.add(attribute);
+            }
+        }
+        EnumSet<RecordAttribute> parsed = EnumSet.copyOf(emitted);
+        parsed.addAll(filterAttributes != null ? filterAttributes : Collections.emptySet());
+        parsed.add(RecordAttribute.REGISTRATION_ID);
+        parsed.add(RecordAttribute.EVENT_ID);
+        // Name and email fall back to the nested person block only when the registrant has no full name.
+        if (parsed.contains(RecordAttribute.EMAIL) || parsed.contains(RecordAttribute.FIRST_NAME)
+                || parsed.contains(RecordAttribute.LAST_NAME)) {
+            parsed.add(RecordAttribute.FULL_NAME);
+        }
+        if (parsed.size() == RecordAttribute.values().length && emitted.size() == parsed.size()) {
+            return ALL;
+        }
+        String key = parsed.stream().map(RecordAttribute::getAttributeName).collect(Collectors.joining(","));
+        return new AttributePlan(Collections.unmodifiableSet(parsed), emitted, key);
+    }
+
+    public boolean parses(RecordAttribute attribute) {
+        return parsed.contains(attribute);
+    }
+
+    /**
+     * Attributes added to connector objects besides uid and name, in schema order.
+     */
+    RecordAttribute[] emitted() {
+        return emitted;
+    }
+
+    /**
+     * Identifies the parsed field set; pages parsed under different plans are not interchangeable.
+     */
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,118 @@
+package com.identicum.connectors.indico.mapper;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.identicum.connectors.indico.model.EventSummary;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Maps the event listing of the Indico category export ({@code /export/categ/{id}.json}).
+ */
+public class EventMapper {
+
+    private static final Log LOG = Log.getLog(EventMapper.class);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public List<EventSummary> mapEvents(InputStream body) throws IOException {
+        List<EventSummary> events = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                readEvents(parser, events);
+            } else if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                        readEvents(parser, events);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            LOG.error(e, "Cannot parse category export from Indico");
+            throw new IllegalStateException("Unable to parse Indico category export", e);
+        }
+        return events;
+    }
+
+    private void readEvents(JsonParser parser, List<EventSummary> events) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            EventSummary event = readEvent(parser);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+    }
+
+    private EventSummary readEvent(JsonParser parser) throws IOException {
+        Long id = null;
+        String title = null;
+        String category = null;
+        String modified = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = JsonValues.readLong(parser);
+                    break;
+                case "title":
+                    title = JsonValues.readText(parser);
+                    break;
+                case "category":
+                    category = JsonValues.readText(parser);
+                    break;
+                case "modificationDate":
+                    modified = readDate(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (id == null) {
+            LOG.warn("Skipping category export entry without event id");
+            return null;
+        }
+        return new EventSummary(id, title, category, modified);
+    }
+
+    /**
+     * Indico renders dates either as plain strings or as {@code {"date": ..., "time": ..., "tz": ...}} objects.
+     */
+    private String readDate(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return JsonValues.readText(parser);
+        }
+        String date = null;
+        String time = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("date".equals(field)) {
+                date = JsonValues.readText(parser);
+            } else if ("time".equals(field)) {
+                time = JsonValues.readText(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (date == null) {
+            return null;
+        }
+        return time == null ? date : date + "T" + time;
+    }
+}
@@ -0,0 +1,68 @@
+package com.identicum.connectors.indico.mapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+
+/**
+ * Lenient scalar readers shared by the streaming mappers. Each method consumes the current value.
+ */
+final class JsonValues {
+
+    private JsonValues() {
+    }
+
+    static String readText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    static Boolean readBoolean(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NUMBER_INT:
+                return parser.getLongValue() != 0L;
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if ("true".equalsIgnoreCase(text) || "1".equals(text)) {
+                    return Boolean.TRUE;
+                }
+                if ("false".equalsIgnoreCase(text) || "0".equals(text)) {
+                    return Boolean.FALSE;
+                }
+                return null;
+            default:
+                parser.skipChildren();
+                return null;
+        }
+    }
+
+    static Long readLong(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return 0L;
+            }
+        }
+        if (token != null && token.isScalarValue()) {
+            return parser.getValueAsLong();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
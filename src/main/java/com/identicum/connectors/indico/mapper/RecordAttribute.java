@@ -0,0 +1,64 @@
+package com.identicum.connectors.indico.mapper;
+
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.Uid;
+
+/**
+ * Connector attributes of a registrant and the {@link RegistrationRecord} property backing each of them.
+ */
+public enum RecordAttribute {
+
+    REGISTRATION_ID(Uid.NAME, RegistrationRecord::getRegistrationId),
+    EVENT_ID("eventId", RegistrationRecord::getEventId),
+    EMAIL("email", RegistrationRecord::getEmail),
+    FIRST_NAME("firstName", RegistrationRecord::getFirstName),
+    LAST_NAME("lastName", RegistrationRecord::getLastName),
+    FULL_NAME("fullName", RegistrationRecord::getFullName),
+    STATE("state", RegistrationRecord::getState),
+    CHECKED_IN("checkedIn", RegistrationRecord::getCheckedIn),
+    PAID("paid", RegistrationRecord::getPaid),
+    CREATED_DT("createdDt", RegistrationRecord::getCreatedDate),
+    MODIFIED_DT("modifiedDt", RegistrationRecord::getModifiedDate),
+    CATEGORY_PATH("categoryPath", RegistrationRecord::getCategoryPath);
+
+    private static final Map<String, RecordAttribute> BY_NAME = new HashMap<>();
+
+    static {
+        for (RecordAttribute attribute : values()) {
+            BY_NAME.put(attribute.attributeName.toLowerCase(Locale.ROOT), attribute);
+        }
+        BY_NAME.put(Name.NAME.toLowerCase(Locale.ROOT), REGISTRATION_ID);
+    }
+
+    private final String attributeName;
+    private final Function<RegistrationRecord, Object> getter;
+
+    RecordAttribute(String attributeName, Function<RegistrationRecord, Object> getter) {
+        this.attributeName = attributeName;
+        this.getter = getter;
+    }
+
+    /**
+     * Resolves a connector attribute name, ignoring case; {@code __NAME__} maps to the registration id.
+     */
+    public static RecordAttribute forName(String attributeName) {
+        return attributeName != null ? BY_NAME.get(attributeName.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    public Object valueOf(RegistrationRecord record) {
+        return getter.apply(record);
+    }
+
+    public boolean isDate() {
+        return this == CREATED_DT || this == MODIFIED_DT;
+    }
+}
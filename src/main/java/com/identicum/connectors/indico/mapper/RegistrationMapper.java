@@ -1,18 +1,22 @@
 package com.identicum.connectors.indico.mapper;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.identicum.connectors.indico.metrics.PageParseEvent;
 import com.identicum.connectors.indico.model.RegistrationPage;
 import com.identicum.connectors.indico.model.RegistrationRecord;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
 import org.identityconnectors.framework.common.objects.ObjectClass;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
 import org.identityconnectors.common.logging.Log;
 
 /**
@@ -23,165 +27,424 @@ public class RegistrationMapper {
     private static final Log LOG = Log.getLog(RegistrationMapper.class);
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
 
     public RegistrationPage mapPage(String body, long eventId) {
-        try {
-            JsonNode root = objectMapper.readTree(body);
-            JsonNode arrayNode = extractRegistrantsArray(root).orElse(root);
-            List<RegistrationRecord> records = new ArrayList<>();
-            if (arrayNode.isArray()) {
-                for (JsonNode node : arrayNode) {
-                    mapRecord(node, eventId).ifPresent(records::add);
-                }
-            } else {
-                mapRecord(arrayNode, eventId).ifPresent(records::add);
-            }
-            String nextPageToken = extractNextToken(root).orElse(null);
-            return new RegistrationPage(records, nextPageToken);
+        PageParseEvent event = new PageParseEvent();
+        event.begin();
+        List<RegistrationRecord> records = new ArrayList<>();
+        String nextPageToken = streamPage(body, eventId, records::add);
+        commit(event, eventId, records.size(), false);
+        return new RegistrationPage(records, nextPageToken);
+    }
+
+    /**
+     * Maps a registrant page straight from the response byte stream. Failures reading the stream itself are
+     * propagated so that the HTTP layer can treat them as I/O errors.
+     */
+    public RegistrationPage mapPage(InputStream body, long eventId) throws IOException {
+        return mapPage(body, eventId, AttributePlan.ALL);
+    }
+
+    /**
+     * Maps a registrant page reading only the fields of the plan; the others are skipped without being decoded.
+     */
+    public RegistrationPage mapPage(InputStream body, long eventId, AttributePlan plan) throws IOException {
+        PageParseEvent event = new PageParseEvent();
+        event.begin();
+        List<RegistrationRecord> records = new ArrayList<>();
+        String nextPageToken = streamPage(body, eventId, plan, records::add);
+        commit(event, eventId, records.size(), true);
+        return new RegistrationPage(records, nextPageToken);
+    }
+
+    private static void commit(PageParseEvent event, long eventId, int records, boolean streamed) {
+        if (event.shouldCommit()) {
+            event.eventId = eventId;
+            event.records = records;
+            event.streamed = streamed;
+            event.commit();
+        }
+    }
+
+    public String streamPage(InputStream body, long eventId, Consumer<RegistrationRecord> consumer) throws IOException {
+        return streamPage(body, eventId, AttributePlan.ALL, consumer);
+    }
+
+    public String streamPage(InputStream body, long eventId, AttributePlan plan, Consumer<RegistrationRecord> consumer)
+            throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return streamPage(parser, eventId, plan, consumer);
+        } catch (JsonProcessingException e) {
+            LOG.error(e, "Cannot parse response from Indico");
+            throw new IllegalStateException("Unable to parse Indico response", e);
+        }
+    }
+
+    /**
+     * Parses a registrant export in a single streaming pass, handing every record to the consumer as soon as it
+     * has been read. Returns the next page token, or {@code null} when the payload does not announce one.
+     */
+    public String streamPage(String body, long eventId, Consumer<RegistrationRecord> consumer) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return streamPage(parser, eventId, AttributePlan.ALL, consumer);
         } catch (JsonProcessingException e) {
             LOG.error(e, "Cannot parse response from Indico");
             throw new IllegalStateException("Unable to parse Indico response", e);
+        } catch (IOException e) {
+            LOG.error(e, "Cannot read response from Indico");
+            throw new IllegalStateException("Unable to read Indico response", e);
         }
     }
 
     public ConnectorObject toConnectorObject(RegistrationRecord record) {
+        return toConnectorObject(record, AttributePlan.ALL);
+    }
+
+    public ConnectorObject toConnectorObject(RegistrationRecord record, AttributePlan plan) {
         ConnectorObjectBuilder builder = new ConnectorObjectBuilder();
         builder.setObjectClass(ObjectClass.ACCOUNT);
         if (record.getRegistrationId() != null) {
             builder.setUid(record.getRegistrationId());
             builder.setName(record.getRegistrationId());
         }
-        if (record.getEventId() != null) {
-            builder.addAttribute(AttributeBuilder.build("eventId", record.getEventId()));
-        }
-        if (record.getEmail() != null) {
-            builder.addAttribute(AttributeBuilder.build("email", record.getEmail()));
+        for (RecordAttribute attribute : plan.emitted()) {
+            Object value = attribute.valueOf(record);
+            if (value != null) {
+                builder.addAttribute(AttributeBuilder.build(attribute.getAttributeName(), value));
+            }
         }
-        if (record.getFirstName() != null) {
-            builder.addAttribute(AttributeBuilder.build("firstName", record.getFirstName()));
+        return builder.build();
+    }
+
+    private String streamPage(JsonParser parser, long eventId, AttributePlan plan, Consumer<RegistrationRecord> consumer)
+            throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
         }
-        if (record.getLastName() != null) {
-            builder.addAttribute(AttributeBuilder.build("lastName", record.getLastName()));
+        if (token == JsonToken.START_ARRAY) {
+            readRecords(parser, eventId, plan, consumer);
+            return null;
         }
-        if (record.getFullName() != null) {
-            builder.addAttribute(AttributeBuilder.build("fullName", record.getFullName()));
+        if (token != JsonToken.START_OBJECT) {
+            return null;
         }
-        if (record.getState() != null) {
-            builder.addAttribute(AttributeBuilder.build("state", record.getState()));
+
+        // The root object either wraps the registrants array or is itself a single registrant.
+        RecordReader rootRecord = new RecordReader(plan);
+        NextTokenCandidates next = new NextTokenCandidates();
+        boolean arrayFound = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (!arrayFound && isRegistrantsField(field)) {
+                arrayFound = true;
+                if (value == JsonToken.START_ARRAY) {
+                    readRecords(parser, eventId, plan, consumer);
+                } else if (value == JsonToken.START_OBJECT) {
+                    consumer.accept(readRecord(parser, eventId, plan));
+                }
+                continue;
+            }
+            switch (field) {
+                case "next":
+                    next.root = readToken(parser);
+                    next.hasRoot = true;
+                    break;
+                case "links":
+                case "paging":
+                    readNestedTokens(parser, field, next);
+                    break;
+                default:
+                    if (!arrayFound) {
+                        rootRecord.readField(parser, field);
+                    } else {
+                        parser.skipChildren();
+                    }
+            }
         }
-        if (record.getCheckedIn() != null) {
-            builder.addAttribute(AttributeBuilder.build("checkedIn", record.getCheckedIn()));
+        if (!arrayFound) {
+            consumer.accept(rootRecord.build(eventId));
         }
-        if (record.getPaid() != null) {
-            builder.addAttribute(AttributeBuilder.build("paid", record.getPaid()));
+        return next.resolve();
+    }
+
+    private boolean isRegistrantsField(String field) {
+        return "registrants".equals(field) || "results".equals(field) || "data".equals(field) || "rows".equals(field);
+    }
+
+    private void readRecords(JsonParser parser, long eventId, AttributePlan plan, Consumer<RegistrationRecord> consumer)
+            throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                consumer.accept(readRecord(parser, eventId, plan));
+            } else {
+                if (token != JsonToken.VALUE_NULL) {
+                    LOG.warn("Skipping invalid registrant payload of type {0}", token);
+                }
+                parser.skipChildren();
+            }
         }
-        if (record.getCreatedDate() != null) {
-            builder.addAttribute(AttributeBuilder.build("createdDt", record.getCreatedDate()));
+    }
+
+    private RegistrationRecord readRecord(JsonParser parser, long eventId, AttributePlan plan) throws IOException {
+        RecordReader reader = new RecordReader(plan);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            reader.readField(parser, field);
         }
-        if (record.getModifiedDate() != null) {
-            builder.addAttribute(AttributeBuilder.build("modifiedDt", record.getModifiedDate()));
+        return reader.build(eventId);
+    }
+
+    private void readNestedTokens(JsonParser parser, String container, NextTokenCandidates next) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
         }
-        if (record.getCategoryPath() != null) {
-            builder.addAttribute(AttributeBuilder.build("categoryPath", record.getCategoryPath()));
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("next".equals(field) && "links".equals(container)) {
+                next.links = readToken(parser);
+                next.hasLinks = true;
+            } else if ("next".equals(field)) {
+                next.pagingNext = readToken(parser);
+                next.hasPagingNext = true;
+            } else if ("next_page_token".equals(field) && "paging".equals(container)) {
+                next.pagingToken = readToken(parser);
+                next.hasPagingToken = true;
+            } else {
+                parser.skipChildren();
+            }
         }
-        return builder.build();
     }
 
-    private Optional<JsonNode> extractRegistrantsArray(JsonNode root) {
-        if (root == null) {
-            return Optional.empty();
+    /**
+     * Reads the value under the parser as a page token: scalars are returned as text, objects resolve to their
+     * first field and arrays to their JSON representation.
+     */
+    private String readToken(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
         }
-        if (root.isArray()) {
-            return Optional.of(root);
+        if (token.isScalarValue()) {
+            return parser.getText();
         }
-        for (String field : new String[]{"registrants", "results", "data", "rows"}) {
-            if (root.has(field)) {
-                return Optional.of(root.get(field));
+        if (token == JsonToken.START_OBJECT) {
+            String result = null;
+            boolean first = true;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                if (first) {
+                    result = readToken(parser);
+                    first = false;
+                } else {
+                    parser.skipChildren();
+                }
             }
+            return result;
         }
-        return Optional.empty();
+        return objectMapper.writeValueAsString(parser.readValueAsTree());
     }
 
-    private Optional<RegistrationRecord> mapRecord(JsonNode node, long eventId) {
-        if (node == null || node.isNull()) {
-            return Optional.empty();
+    /**
+     * Collects the fields of one registrant object, including the nested {@code person} block, and applies the
+     * same fallbacks regardless of the order in which fields appear in the payload. Fields outside the plan are
+     * skipped.
+     */
+    private static final class RecordReader {
+
+        private final RegistrationRecord record = new RegistrationRecord();
+        private final AttributePlan plan;
+        private String fallbackRegistrationId;
+        private Long payloadEventId;
+        private String fallbackCategoryPath;
+        private String personFullName;
+        private String personFirstName;
+        private String personLastName;
+        private String personEmail;
+        private boolean hasPerson;
+
+        RecordReader(AttributePlan plan) {
+            this.plan = plan;
         }
-        try {
-            RegistrationRecord record = objectMapper.treeToValue(node, RegistrationRecord.class);
-            if (record.getRegistrationId() == null && node.has("registration_id")) {
-                record.setRegistrationId(node.get("registration_id").asText());
+
+        void readField(JsonParser parser, String field) throws IOException {
+            RecordAttribute attribute = attributeOf(field);
+            if (attribute != null && !plan.parses(attribute)) {
+                parser.skipChildren();
+                return;
             }
-            if (record.getEventId() == null) {
-                if (node.has("event_id")) {
-                    record.setEventId(node.get("event_id").asLong());
-                } else {
-                    record.setEventId(eventId);
+            switch (field) {
+                case "id":
+                    record.setRegistrationId(JsonValues.readText(parser));
+                    break;
+                case "registration_id":
+                    fallbackRegistrationId = JsonValues.readText(parser);
+                    break;
+                case "email":
+                    record.setEmail(JsonValues.readText(parser));
+                    break;
+                case "first_name":
+                    record.setFirstName(JsonValues.readText(parser));
+                    break;
+                case "last_name":
+                    record.setLastName(JsonValues.readText(parser));
+                    break;
+                case "full_name":
+                    record.setFullName(JsonValues.readText(parser));
+                    break;
+                case "state":
+                    record.setState(JsonValues.readText(parser));
+                    break;
+                case "checked_in":
+                    record.setCheckedIn(JsonValues.readBoolean(parser));
+                    break;
+                case "paid":
+                    record.setPaid(JsonValues.readBoolean(parser));
+                    break;
+                case "registration_date":
+                    record.setCreatedDate(JsonValues.readText(parser));
+                    break;
+                case "modification_date":
+                    record.setModifiedDate(JsonValues.readText(parser));
+                    break;
+                case "eventId":
+                    record.setEventId(JsonValues.readLong(parser));
+                    break;
+                case "event_id":
+                    payloadEventId = JsonValues.readLong(parser);
+                    break;
+                case "categoryPath":
+                    record.setCategoryPath(JsonValues.readText(parser));
+                    break;
+                case "category_path":
+                    fallbackCategoryPath = JsonValues.readText(parser);
+                    break;
+                case "person":
+                    readPerson(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        private static RecordAttribute attributeOf(String field) {
+            switch (field) {
+                case "email":
+                    return RecordAttribute.EMAIL;
+                case "first_name":
+                    return RecordAttribute.FIRST_NAME;
+                case "last_name":
+                    return RecordAttribute.LAST_NAME;
+                case "full_name":
+                case "person":
+                    return RecordAttribute.FULL_NAME;
+                case "state":
+                    return RecordAttribute.STATE;
+                case "checked_in":
+                    return RecordAttribute.CHECKED_IN;
+                case "paid":
+                    return RecordAttribute.PAID;
+                case "registration_date":
+                    return RecordAttribute.CREATED_DT;
+                case "modification_date":
+                    return RecordAttribute.MODIFIED_DT;
+                case "categoryPath":
+                case "category_path":
+                    return RecordAttribute.CATEGORY_PATH;
+                default:
+                    return null;
+            }
+        }
+
+        private void readPerson(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return;
+            }
+            hasPerson = true;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "full_name":
+                        personFullName = JsonValues.readText(parser);
+                        break;
+                    case "first_name":
+                        personFirstName = JsonValues.readText(parser);
+                        break;
+                    case "last_name":
+                        personLastName = JsonValues.readText(parser);
+                        break;
+                    case "email":
+                        personEmail = JsonValues.readText(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
                 }
             }
-            if (node.has("category_path") && record.getCategoryPath() == null) {
-                record.setCategoryPath(node.get("category_path").asText());
+        }
+
+        RegistrationRecord build(long eventId) {
+            if (record.getRegistrationId() == null && fallbackRegistrationId != null) {
+                record.setRegistrationId(fallbackRegistrationId);
+            }
+            if (record.getEventId() == null) {
+                record.setEventId(payloadEventId != null ? payloadEventId : eventId);
+            }
+            if (record.getCategoryPath() == null && fallbackCategoryPath != null) {
+                record.setCategoryPath(fallbackCategoryPath);
             }
-            if (record.getFullName() == null && node.has("person")) {
-                JsonNode person = node.get("person");
-                if (person.has("full_name")) {
-                    record.setFullName(person.get("full_name").asText());
+            if (hasPerson && record.getFullName() == null) {
+                if (personFullName != null) {
+                    record.setFullName(personFullName);
                 }
-                if (person.has("first_name") && record.getFirstName() == null) {
-                    record.setFirstName(person.get("first_name").asText());
+                if (personFirstName != null && record.getFirstName() == null && plan.parses(RecordAttribute.FIRST_NAME)) {
+                    record.setFirstName(personFirstName);
                 }
-                if (person.has("last_name") && record.getLastName() == null) {
-                    record.setLastName(person.get("last_name").asText());
+                if (personLastName != null && record.getLastName() == null && plan.parses(RecordAttribute.LAST_NAME)) {
+                    record.setLastName(personLastName);
                 }
-                if (record.getEmail() == null && person.has("email")) {
-                    record.setEmail(person.get("email").asText());
+                if (record.getEmail() == null && personEmail != null && plan.parses(RecordAttribute.EMAIL)) {
+                    record.setEmail(personEmail);
                 }
             }
-            return Optional.of(record);
-        } catch (JsonProcessingException e) {
-            LOG.warn(e, "Skipping invalid registrant payload: {0}", node.toString());
-            return Optional.empty();
+            return record;
         }
     }
 
-    private Optional<String> extractNextToken(JsonNode root) {
-        if (root == null) {
-            return Optional.empty();
-        }
-        if (root.has("next")) {
-            return Optional.ofNullable(asText(root.get("next")));
-        }
-        if (root.has("links") && root.get("links").has("next")) {
-            return Optional.ofNullable(asText(root.get("links").get("next")));
-        }
-        if (root.has("paging")) {
-            JsonNode paging = root.get("paging");
-            if (paging.has("next")) {
-                return Optional.ofNullable(asText(paging.get("next")));
+    /**
+     * Next page token locations, resolved with the precedence {@code next}, {@code links.next},
+     * {@code paging.next}, {@code paging.next_page_token}. The first key present wins even when its value is
+     * {@code null}, which marks the last page.
+     */
+    private static final class NextTokenCandidates {
+
+        private String root;
+        private String links;
+        private String pagingNext;
+        private String pagingToken;
+        private boolean hasRoot;
+        private boolean hasLinks;
+        private boolean hasPagingNext;
+        private boolean hasPagingToken;
+
+        String resolve() {
+            if (hasRoot) {
+                return root;
             }
-            if (paging.has("next_page_token")) {
-                return Optional.ofNullable(asText(paging.get("next_page_token")));
+            if (hasLinks) {
+                return links;
             }
-        }
-        return Optional.empty();
-    }
-
-    private String asText(JsonNode node) {
-        if (node == null || node.isNull()) {
-            return null;
-        }
-        if (node.isTextual()) {
-            return node.asText();
-        }
-        if (node.isNumber()) {
-            return node.asText();
-        }
-        if (node.isObject()) {
-            Iterator<String> fieldNames = node.fieldNames();
-            if (fieldNames.hasNext()) {
-                String firstField = fieldNames.next();
-                return asText(node.get(firstField));
+            if (hasPagingNext) {
+                return pagingNext;
             }
+            return hasPagingToken ? pagingToken : null;
         }
-        return node.toString();
     }
 }
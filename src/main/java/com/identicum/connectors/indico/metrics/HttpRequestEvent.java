@@ -0,0 +1,39 @@
+package com.identicum.connectors.indico.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One attempt of a request to Indico, from sending it until its body was consumed. Status {@code 0} means the
+ * attempt failed without a response.
+ */
+@Name("com.identicum.connectors.indico.HttpRequest")
+@Label("Indico HTTP Request")
+@Category({"Indico Connector", "HTTP"})
+@Description("An attempt of a request to the Indico export API")
+@StackTrace(false)
+public final class HttpRequestEvent extends Event {
+
+    @Label("Path")
+    @Description("Request path without the query string")
+    public String path;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Bytes")
+    @Description("Body bytes received on the wire, before decompression")
+    @DataAmount
+    public long bytes;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Asynchronous")
+    public boolean async;
+}
@@ -0,0 +1,261 @@
+package com.identicum.connectors.indico.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Process-wide metrics of one Indico server, registered as the MBean
+ * {@code com.identicum.connectors.indico:type=IndicoMetrics,address="..."}. Recording only touches
+ * {@link LongAdder}s and atomic histogram buckets; aggregation happens when the MBean is read.
+ */
+public final class IndicoMetrics implements IndicoMetricsMXBean {
+
+    private static final Log LOG = Log.getLog(IndicoMetrics.class);
+
+    private static final Map<String, IndicoMetrics> INSTANCES = new ConcurrentHashMap<>();
+
+    private final String address;
+    private final LongAdder requests = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder[] statusClasses = new LongAdder[6];
+    private final RateMeter pages = new RateMeter();
+    private final RateMeter records = new RateMeter();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchFetchNanos = new LongAdder();
+    private final LongAdder searchHandlerNanos = new LongAdder();
+    private volatile DoubleSupplier allowedRate = () -> -1.0;
+    private volatile Supplier<String> circuitState = () -> "DISABLED";
+    private volatile IntSupplier adaptivePageSize = () -> -1;
+
+    IndicoMetrics(String address) {
+        this.address = address;
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    public static IndicoMetrics forAddress(String address) {
+        return INSTANCES.computeIfAbsent(address, key -> {
+            IndicoMetrics metrics = new IndicoMetrics(key);
+            metrics.register();
+            return metrics;
+        });
+    }
+
+    /**
+     * Publishes the state of the server's rate limiter and circuit breaker next to the counters.
+     */
+    public void bindGauges(DoubleSupplier allowedRate, Supplier<String> circuitState) {
+        this.allowedRate = allowedRate;
+        this.circuitState = circuitState;
+    }
+
+    /**
+     * Publishes the page size chosen by adaptive paging.
+     */
+    public void bindPageSize(IntSupplier adaptivePageSize) {
+        this.adaptivePageSize = adaptivePageSize;
+    }
+
+    /**
+     * Records an answered request: its status and the time until the response headers arrived.
+     */
+    public void onResponse(int statusCode, long latencyNanos) {
+        requests.increment();
+        latency.record(latencyNanos);
+        int statusClass = statusCode / 100;
+        if (statusClass > 0 && statusClass < statusClasses.length) {
+            statusClasses[statusClass].increment();
+        }
+    }
+
+    public void onIoError() {
+        requests.increment();
+        ioErrors.increment();
+    }
+
+    public void onRetry() {
+        retries.increment();
+    }
+
+    public void onBytes(long count) {
+        if (count > 0L) {
+            bytesReceived.add(count);
+        }
+    }
+
+    public void onPage() {
+        pages.mark(1L);
+    }
+
+    public void onRecordMapped() {
+        records.mark(1L);
+    }
+
+    /**
+     * Records a finished search split into the time spent waiting for pages and inside the results handler.
+     */
+    public void onSearch(long fetchNanos, long handlerNanos) {
+        searches.increment();
+        searchFetchNanos.add(fetchNanos);
+        searchHandlerNanos.add(handlerNanos);
+    }
+
+    @Override
+    public String getServiceAddress() {
+        return address;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return latency.percentileMillis(0.50);
+    }
+
+    @Override
+    public double getLatencyP95Millis() {
+        return latency.percentileMillis(0.95);
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return latency.percentileMillis(0.99);
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getIoErrorCount() {
+        return ioErrors.sum();
+    }
+
+    @Override
+    public long getStatus2xxCount() {
+        return statusClasses[2].sum();
+    }
+
+    @Override
+    public long getStatus3xxCount() {
+        return statusClasses[3].sum();
+    }
+
+    @Override
+    public long getStatus4xxCount() {
+        return statusClasses[4].sum();
+    }
+
+    @Override
+    public long getStatus5xxCount() {
+        return statusClasses[5].sum();
+    }
+
+    @Override
+    public long getPagesFetched() {
+        return pages.count();
+    }
+
+    @Override
+    public double getPagesPerSecond() {
+        return pages.ratePerSecond();
+    }
+
+    @Override
+    public long getRecordsMapped() {
+        return records.count();
+    }
+
+    @Override
+    public double getRecordsPerSecond() {
+        return records.ratePerSecond();
+    }
+
+    @Override
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    @Override
+    public long getSearchFetchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(searchFetchNanos.sum());
+    }
+
+    @Override
+    public long getSearchHandlerMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(searchHandlerNanos.sum());
+    }
+
+    @Override
+    public double getAllowedRequestsPerSecond() {
+        return allowedRate.getAsDouble();
+    }
+
+    @Override
+    public String getCircuitState() {
+        return circuitState.get();
+    }
+
+    @Override
+    public int getAdaptivePageSize() {
+        return adaptivePageSize.getAsInt();
+    }
+
+    @Override
+    public void reset() {
+        requests.reset();
+        latency.reset();
+        bytesReceived.reset();
+        retries.reset();
+        ioErrors.reset();
+        for (LongAdder statusClass : statusClasses) {
+            statusClass.reset();
+        }
+        pages.reset();
+        records.reset();
+        searches.reset();
+        searchFetchNanos.reset();
+        searchHandlerNanos.reset();
+    }
+
+    static ObjectName objectName(String address) throws JMException {
+        return new ObjectName("com.identicum.connectors.indico:type=IndicoMetrics,address=" + ObjectName.quote(address));
+    }
+
+    private void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName(address);
+            if (server.isRegistered(name)) {
+                // Left behind by an earlier copy of the connector bundle.
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException | SecurityException e) {
+            LOG.warn(e, "Cannot register metrics MBean for {0}", address);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.identicum.connectors.indico.metrics;
+
+/**
+ * Management interface of the per-server connector metrics. Times are in milliseconds.
+ */
+public interface IndicoMetricsMXBean {
+
+    String getServiceAddress();
+
+    long getRequestCount();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP95Millis();
+
+    double getLatencyP99Millis();
+
+    long getBytesReceived();
+
+    long getRetryCount();
+
+    long getIoErrorCount();
+
+    long getStatus2xxCount();
+
+    long getStatus3xxCount();
+
+    long getStatus4xxCount();
+
+    long getStatus5xxCount();
+
+    long getPagesFetched();
+
+    double getPagesPerSecond();
+
+    long getRecordsMapped();
+
+    double getRecordsPerSecond();
+
+    long getSearchCount();
+
+    long getSearchFetchMillis();
+
+    long getSearchHandlerMillis();
+
+    double getAllowedRequestsPerSecond();
+
+    String getCircuitState();
+
+    /**
+     * Page size currently chosen by adaptive paging, or {@code -1} when the page size is fixed.
+     */
+    int getAdaptivePageSize();
+
+    void reset();
+}
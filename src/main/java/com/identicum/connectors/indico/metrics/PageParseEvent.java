@@ -0,0 +1,29 @@
+package com.identicum.connectors.indico.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing of one registrant page; when streamed from the network its duration includes waiting for the body.
+ */
+@Name("com.identicum.connectors.indico.PageParse")
+@Label("Indico Page Parse")
+@Category({"Indico Connector", "Mapping"})
+@Description("A registrant page parsed into records")
+@StackTrace(false)
+public final class PageParseEvent extends Event {
+
+    @Label("Event ID")
+    public long eventId;
+
+    @Label("Records")
+    public int records;
+
+    @Label("Streamed")
+    @Description("Whether the page was parsed straight from the response stream")
+    public boolean streamed;
+}
@@ -0,0 +1,48 @@
+package com.identicum.connectors.indico.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events on the hot path with a {@link LongAdder}; the rate is computed when read, over the interval
+ * since the previous read of at least one second.
+ */
+final class RateMeter {
+
+    private static final long MIN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder count = new LongAdder();
+    private long sampledCount;
+    private long sampledAtNanos = System.nanoTime();
+    private double rate;
+
+    void mark(long events) {
+        count.add(events);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    synchronized double ratePerSecond() {
+        return ratePerSecond(System.nanoTime());
+    }
+
+    synchronized double ratePerSecond(long nowNanos) {
+        long elapsed = nowNanos - sampledAtNanos;
+        if (elapsed >= MIN_INTERVAL_NANOS) {
+            long current = count.sum();
+            rate = (current - sampledCount) * 1_000_000_000.0 / elapsed;
+            sampledCount = current;
+            sampledAtNanos = nowNanos;
+        }
+        return rate;
+    }
+
+    synchronized void reset() {
+        count.reset();
+        sampledCount = 0L;
+        sampledAtNanos = System.nanoTime();
+        rate = 0.0;
+    }
+}
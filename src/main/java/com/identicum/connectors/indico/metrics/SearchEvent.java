@@ -0,0 +1,41 @@
+package com.identicum.connectors.indico.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One {@code executeQuery} call, including the time spent in the caller's results handler.
+ */
+@Name("com.identicum.connectors.indico.Search")
+@Label("Indico Search")
+@Category({"Indico Connector", "Search"})
+@Description("A connector search over Indico registrants")
+@StackTrace(false)
+public final class SearchEvent extends Event {
+
+    @Label("Events")
+    @Description("Number of Indico events searched")
+    public int events;
+
+    @Label("Filter")
+    @Description("Operators and attribute names of the filter, without values")
+    public String filter;
+
+    @Label("Pages")
+    public long pages;
+
+    @Label("Records")
+    public long records;
+
+    @Label("Retries")
+    public long retries;
+
+    @Label("Handler Time")
+    @Timespan
+    public long handlerNanos;
+}
@@ -0,0 +1,105 @@
+package com.identicum.connectors.indico.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where the time of one search went. Prefetching and asynchronous fetches report from worker threads, so every
+ * phase is a {@link LongAdder}; phases overlap when pages are fetched ahead of the handler.
+ */
+public final class SearchTrace {
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder httpWaitNanos = new LongAdder();
+    private final LongAdder bodyReadNanos = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder mapNanos = new LongAdder();
+    private final LongAdder handlerNanos = new LongAdder();
+    private final LongAdder throttledNanos = new LongAdder();
+    private final LongAdder retrySleepNanos = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder records = new LongAdder();
+
+    /**
+     * Time from sending a request until its response headers arrived.
+     */
+    public void onHttpWait(long nanos) {
+        httpWaitNanos.add(nanos);
+    }
+
+    /**
+     * Time blocked reading the response body from the network.
+     */
+    public void onBodyRead(long nanos) {
+        bodyReadNanos.add(nanos);
+    }
+
+    public void onParse(long nanos) {
+        parseNanos.add(nanos);
+    }
+
+    public void onMap(long nanos) {
+        mapNanos.add(nanos);
+    }
+
+    public void onHandler(long nanos) {
+        handlerNanos.add(nanos);
+    }
+
+    /**
+     * Time spent waiting for the shared rate limiter before sending.
+     */
+    public void onThrottled(long nanos) {
+        throttledNanos.add(nanos);
+    }
+
+    public void onRetry(long sleptNanos) {
+        retries.increment();
+        retrySleepNanos.add(sleptNanos);
+    }
+
+    public void onPage() {
+        pages.increment();
+    }
+
+    public void onRecord() {
+        records.increment();
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long handlerNanos() {
+        return handlerNanos.sum();
+    }
+
+    public long pages() {
+        return pages.sum();
+    }
+
+    public long records() {
+        return records.sum();
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Formats the breakdown as {@code phase=millis} pairs.
+     */
+    public String summary() {
+        return "total=" + millis(elapsedNanos()) + "ms httpWait=" + millis(httpWaitNanos.sum())
+                + "ms bodyRead=" + millis(bodyReadNanos.sum()) + "ms parse=" + millis(parseNanos.sum())
+                + "ms map=" + millis(mapNanos.sum()) + "ms handler=" + millis(handlerNanos.sum())
+                + "ms throttled=" + millis(throttledNanos.sum()) + "ms retries=" + retries.sum()
+                + " retrySleep=" + millis(retrySleepNanos.sum()) + "ms pages=" + pages.sum()
+                + " records=" + records.sum();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
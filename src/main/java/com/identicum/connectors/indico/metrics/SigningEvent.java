@@ -0,0 +1,26 @@
+package com.identicum.connectors.indico.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * HMAC signing of one request for API key authentication.
+ */
+@Name("com.identicum.connectors.indico.Signing")
+@Label("Indico Request Signing")
+@Category({"Indico Connector", "HTTP"})
+@Description("An HMAC-SHA256 request signature")
+@StackTrace(false)
+public final class SigningEvent extends Event {
+
+    @Label("Path")
+    public String path;
+
+    @Label("Parameters")
+    @Description("Number of signed query parameters")
+    public int parameters;
+}
@@ -0,0 +1,32 @@
+package com.identicum.connectors.indico.model;
+
+public class EventSummary {
+
+    private final long eventId;
+    private final String title;
+    private final String categoryPath;
+    private final String modifiedDate;
+
+    public EventSummary(long eventId, String title, String categoryPath, String modifiedDate) {
+        this.eventId = eventId;
+        this.title = title;
+        this.categoryPath = categoryPath;
+        this.modifiedDate = modifiedDate;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCategoryPath() {
+        return categoryPath;
+    }
+
+    public String getModifiedDate() {
+        return modifiedDate;
+    }
+}
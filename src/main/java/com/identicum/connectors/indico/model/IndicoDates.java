@@ -0,0 +1,54 @@
+package com.identicum.connectors.indico.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Compares the date strings found in Indico exports. Values without an offset are taken as UTC.
+ */
+public final class IndicoDates {
+
+    private IndicoDates() {
+    }
+
+    public static Instant parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        String normalized = value.trim().replace(' ', 'T');
+        try {
+            return OffsetDateTime.parse(normalized).toInstant();
+        } catch (DateTimeParseException e) {
+            // fall through to local formats
+        }
+        try {
+            return LocalDateTime.parse(normalized).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            // fall through to date only
+        }
+        try {
+            return LocalDate.parse(normalized).atStartOfDay().toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Orders two date strings chronologically when both parse, lexically otherwise. {@code null} sorts first.
+     */
+    public static int compare(String left, String right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        Instant leftInstant = parse(left);
+        Instant rightInstant = parse(right);
+        if (leftInstant != null && rightInstant != null) {
+            return leftInstant.compareTo(rightInstant);
+        }
+        return left.compareTo(right);
+    }
+}
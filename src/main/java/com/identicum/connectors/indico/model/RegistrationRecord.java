@@ -135,4 +135,25 @@ public class RegistrationRecord {
     public void setCategoryPath(String categoryPath) {
         this.categoryPath = categoryPath;
     }
+
+    /**
+     * Returns a copy carrying {@code categoryPath}; records may be shared through page caches and replicas, so they
+     * are not modified in place.
+     */
+    public RegistrationRecord withCategoryPath(String categoryPath) {
+        RegistrationRecord copy = new RegistrationRecord();
+        copy.registrationId = registrationId;
+        copy.email = email;
+        copy.firstName = firstName;
+        copy.lastName = lastName;
+        copy.fullName = fullName;
+        copy.state = state;
+        copy.checkedIn = checkedIn;
+        copy.paid = paid;
+        copy.createdDate = createdDate;
+        copy.modifiedDate = modifiedDate;
+        copy.eventId = eventId;
+        copy.categoryPath = categoryPath;
+        return copy;
+    }
 }
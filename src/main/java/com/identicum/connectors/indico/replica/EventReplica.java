@@ -0,0 +1,255 @@
+package com.identicum.connectors.indico.replica;
+
+import com.identicum.connectors.indico.IndicoFilter;
+import com.identicum.connectors.indico.mapper.RecordAttribute;
+import com.identicum.connectors.indico.model.IndicoDates;
+import com.identicum.connectors.indico.model.RegistrationPage;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import com.identicum.connectors.indico.service.PageCursor;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of all registrants of an event, indexed by registration id, email, state and the checked-in
+ * and paid flags, with the creation and modification dates kept sorted for range queries.
+ */
+public final class EventReplica {
+
+    private final List<RegistrationRecord> records;
+    private final Map<String, RegistrationRecord> byId;
+    private final Map<String, List<RegistrationRecord>> byEmail;
+    private final Map<String, List<RegistrationRecord>> byState;
+    private final Map<Boolean, List<RegistrationRecord>> byCheckedIn;
+    private final Map<Boolean, List<RegistrationRecord>> byPaid;
+    private final DateIndex byCreatedDate;
+    private final DateIndex byModifiedDate;
+    private final long loadedAtMillis;
+
+    EventReplica(List<RegistrationRecord> records, long loadedAtMillis) {
+        this.records = Collections.unmodifiableList(records);
+        this.loadedAtMillis = loadedAtMillis;
+        this.byId = new HashMap<>(records.size() * 2);
+        this.byEmail = new HashMap<>();
+        this.byState = new HashMap<>();
+        this.byCheckedIn = new HashMap<>(4);
+        this.byPaid = new HashMap<>(4);
+        for (RegistrationRecord record : records) {
+            if (record.getRegistrationId() != null) {
+                byId.putIfAbsent(record.getRegistrationId(), record);
+            }
+            if (record.getEmail() != null) {
+                byEmail.computeIfAbsent(normalize(record.getEmail()), key -> new ArrayList<>(1)).add(record);
+            }
+            if (record.getState() != null) {
+                byState.computeIfAbsent(normalize(record.getState()), key -> new ArrayList<>()).add(record);
+            }
+            if (record.getCheckedIn() != null) {
+                byCheckedIn.computeIfAbsent(record.getCheckedIn(), key -> new ArrayList<>()).add(record);
+            }
+            if (record.getPaid() != null) {
+                byPaid.computeIfAbsent(record.getPaid(), key -> new ArrayList<>()).add(record);
+            }
+        }
+        this.byCreatedDate = DateIndex.build(records, RegistrationRecord::getCreatedDate);
+        this.byModifiedDate = DateIndex.build(records, RegistrationRecord::getModifiedDate);
+    }
+
+    /**
+     * Drains the cursor into a new snapshot.
+     */
+    public static EventReplica load(PageCursor cursor) {
+        List<RegistrationRecord> records = new ArrayList<>();
+        RegistrationPage page;
+        while ((page = cursor.next()) != null) {
+            records.addAll(page.getRecords());
+        }
+        return new EventReplica(records, System.currentTimeMillis());
+    }
+
+    public List<RegistrationRecord> all() {
+        return records;
+    }
+
+    public RegistrationRecord findById(String registrationId) {
+        return byId.get(registrationId);
+    }
+
+    public List<RegistrationRecord> findByEmail(String email) {
+        return byEmail.getOrDefault(normalize(email), Collections.emptyList());
+    }
+
+    public List<RegistrationRecord> findByState(String state) {
+        return byState.getOrDefault(normalize(state), Collections.emptyList());
+    }
+
+    public List<RegistrationRecord> findByCheckedIn(boolean checkedIn) {
+        return byCheckedIn.getOrDefault(checkedIn, Collections.emptyList());
+    }
+
+    public List<RegistrationRecord> findByPaid(boolean paid) {
+        return byPaid.getOrDefault(paid, Collections.emptyList());
+    }
+
+    /**
+     * Returns the records whose date falls within the range, in chronological order, or {@code null} when the
+     * range cannot be answered from an index: the attribute is not indexed, or a bound or a stored date does not
+     * parse and would be compared lexically.
+     */
+    public List<RegistrationRecord> findInRange(IndicoFilter.DateRange range) {
+        DateIndex index = range.getAttribute() == RecordAttribute.CREATED_DT ? byCreatedDate
+                : range.getAttribute() == RecordAttribute.MODIFIED_DT ? byModifiedDate : null;
+        return index != null ? index.range(range) : null;
+    }
+
+    /**
+     * Returns the candidates for a translated filter from the narrowest index its conditions allow. The result
+     * may still contain records the filter rejects, so the filter must be applied to it.
+     */
+    public List<RegistrationRecord> select(IndicoFilter filter) {
+        if (filter == null) {
+            return records;
+        }
+        if (filter.getRegistrationId() != null || filter.getEmail() != null) {
+            return select(filter.getRegistrationId(), filter.getEmail());
+        }
+        List<RegistrationRecord> candidates = records;
+        if (filter.getState() != null) {
+            candidates = narrower(candidates, findByState(filter.getState()));
+        }
+        if (filter.getCheckedIn() != null) {
+            candidates = narrower(candidates, findByCheckedIn(filter.getCheckedIn()));
+        }
+        if (filter.getPaid() != null) {
+            candidates = narrower(candidates, findByPaid(filter.getPaid()));
+        }
+        if (filter.getDateRange() != null) {
+            candidates = narrower(candidates, findInRange(filter.getDateRange()));
+        }
+        return candidates;
+    }
+
+    /**
+     * Answers an equality search using the narrowest index available.
+     */
+    public List<RegistrationRecord> select(String registrationId, String email) {
+        if (registrationId != null) {
+            RegistrationRecord record = findById(registrationId);
+            if (record == null || (email != null && !email.equalsIgnoreCase(record.getEmail()))) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(record);
+        }
+        if (email != null) {
+            return findByEmail(email);
+        }
+        return records;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    long ageMillis(long now) {
+        return now - loadedAtMillis;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<RegistrationRecord> narrower(List<RegistrationRecord> current,
+                                                     List<RegistrationRecord> candidate) {
+        return candidate != null && candidate.size() < current.size() ? candidate : current;
+    }
+
+    /**
+     * Records with a date, sorted by it. Records without the date never match a range and are left out.
+     */
+    private static final class DateIndex {
+
+        private final Instant[] keys;
+        private final List<RegistrationRecord> records;
+
+        private DateIndex(Instant[] keys, List<RegistrationRecord> records) {
+            this.keys = keys;
+            this.records = records;
+        }
+
+        /**
+         * Returns {@code null} when a stored date does not parse: it would compare lexically and has no place in
+         * a chronological order.
+         */
+        static DateIndex build(List<RegistrationRecord> records, Function<RegistrationRecord, String> date) {
+            List<Map.Entry<Instant, RegistrationRecord>> entries = new ArrayList<>(records.size());
+            for (RegistrationRecord record : records) {
+                String value = date.apply(record);
+                if (value == null) {
+                    continue;
+                }
+                Instant key = IndicoDates.parse(value);
+                if (key == null) {
+                    return null;
+                }
+                entries.add(Map.entry(key, record));
+            }
+            entries.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+            Instant[] keys = new Instant[entries.size()];
+            List<RegistrationRecord> sorted = new ArrayList<>(entries.size());
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = entries.get(i).getKey();
+                sorted.add(entries.get(i).getValue());
+            }
+            return new DateIndex(keys, Collections.unmodifiableList(sorted));
+        }
+
+        List<RegistrationRecord> range(IndicoFilter.DateRange range) {
+            int low = 0;
+            int high = keys.length;
+            if (range.getFrom() != null) {
+                Instant from = IndicoDates.parse(range.getFrom());
+                if (from == null) {
+                    return null;
+                }
+                low = firstIndex(from, range.isFromInclusive());
+            }
+            if (range.getTo() != null) {
+                Instant to = IndicoDates.parse(range.getTo());
+                if (to == null) {
+                    return null;
+                }
+                high = firstIndex(to, !range.isToInclusive());
+            }
+            return low < high ? records.subList(low, high) : Collections.emptyList();
+        }
+
+        /**
+         * Returns the first position whose key is at least {@code bound} when {@code inclusive}, or greater than it
+         * otherwise.
+         */
+        private int firstIndex(Instant bound, boolean inclusive) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = keys[middle].compareTo(bound);
+                if (comparison < 0 || (comparison == 0 && !inclusive)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
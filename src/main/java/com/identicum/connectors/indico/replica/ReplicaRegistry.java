@@ -0,0 +1,115 @@
+package com.identicum.connectors.indico.replica;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Process-wide registry of event replicas, shared by all connector instances.
+ * Snapshots older than the refresh interval are served while a background reload runs; snapshots older than the
+ * staleness bound are reloaded before they are served. A snapshot past its staleness bound would be reloaded on
+ * its next use anyway, so such snapshots are evicted to keep replicas of events nobody asks for from piling up.
+ */
+public final class ReplicaRegistry {
+
+    private static final Log LOG = Log.getLog(ReplicaRegistry.class);
+
+    private static final ReplicaRegistry SHARED = new ReplicaRegistry();
+
+    private static final long SWEEP_INTERVAL_MILLIS = 60_000L;
+
+    private final Map<String, Holder> holders = new ConcurrentHashMap<>();
+    private final long sweepIntervalMillis;
+    private final AtomicLong lastSweepMillis = new AtomicLong(System.currentTimeMillis());
+
+    ReplicaRegistry() {
+        this(SWEEP_INTERVAL_MILLIS);
+    }
+
+    ReplicaRegistry(long sweepIntervalMillis) {
+        this.sweepIntervalMillis = sweepIntervalMillis;
+    }
+
+    public static ReplicaRegistry shared() {
+        return SHARED;
+    }
+
+    public EventReplica replica(String key, long refreshAfterMillis, long maxStalenessMillis,
+                                Supplier<EventReplica> loader, Executor executor) {
+        evictStale();
+        Holder holder = holders.computeIfAbsent(key, ignored -> new Holder());
+        holder.maxStalenessMillis = maxStalenessMillis;
+        EventReplica current = holder.replica;
+        if (current == null || current.ageMillis(System.currentTimeMillis()) >= maxStalenessMillis) {
+            synchronized (holder) {
+                current = holder.replica;
+                if (current == null || current.ageMillis(System.currentTimeMillis()) >= maxStalenessMillis) {
+                    current = loader.get();
+                    holder.replica = current;
+                    LOG.ok("Loaded replica {0} with {1} registrants", key, current.size());
+                }
+            }
+            return current;
+        }
+        if (current.ageMillis(System.currentTimeMillis()) >= refreshAfterMillis && holder.refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> refresh(key, holder, loader));
+            } catch (RejectedExecutionException e) {
+                holder.refreshing.set(false);
+            }
+        }
+        return current;
+    }
+
+    public void invalidate(String key) {
+        holders.remove(key);
+    }
+
+    int size() {
+        return holders.size();
+    }
+
+    private void evictStale() {
+        long now = System.currentTimeMillis();
+        long last = lastSweepMillis.get();
+        if (now - last < sweepIntervalMillis || !lastSweepMillis.compareAndSet(last, now)) {
+            return;
+        }
+        holders.entrySet().removeIf(entry -> {
+            EventReplica replica = entry.getValue().replica;
+            boolean stale = replica != null && replica.ageMillis(now) >= entry.getValue().maxStalenessMillis;
+            if (stale) {
+                LOG.ok("Evicting stale replica {0}", entry.getKey());
+            }
+            return stale;
+        });
+    }
+
+    private void refresh(String key, Holder holder, Supplier<EventReplica> loader) {
+        try {
+            EventReplica fresh = loader.get();
+            synchronized (holder) {
+                if (holder.replica == null || holder.replica.getLoadedAtMillis() <= fresh.getLoadedAtMillis()) {
+                    holder.replica = fresh;
+                }
+            }
+            LOG.ok("Refreshed replica {0} with {1} registrants", key, fresh.size());
+        } catch (RuntimeException e) {
+            LOG.warn(e, "Background refresh of replica {0} failed; serving the previous snapshot", key);
+        } finally {
+            holder.refreshing.set(false);
+        }
+    }
+
+    private static final class Holder {
+
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile EventReplica replica;
+        private volatile long maxStalenessMillis;
+    }
+}
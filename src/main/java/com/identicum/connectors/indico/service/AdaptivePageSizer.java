@@ -0,0 +1,100 @@
+package com.identicum.connectors.indico.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Process-wide page size for searches against one Indico server, learned from the latency and decoded payload
+ * size of full pages. The size is halved when a page overshoots either target and doubled when a page stays
+ * well below both, within the configured bounds.
+ */
+public final class AdaptivePageSizer {
+
+    private static final Log LOG = Log.getLog(AdaptivePageSizer.class);
+
+    private static final Map<String, AdaptivePageSizer> INSTANCES = new ConcurrentHashMap<>();
+
+    /** A page must use less than this fraction of both targets before the size is doubled. */
+    private static final double GROW_BELOW = 0.4;
+
+    private final String address;
+    private int minSize;
+    private int maxSize;
+    private long targetLatencyNanos;
+    private long targetBytes;
+    private int size;
+
+    AdaptivePageSizer(String address, int initialSize, int minSize, int maxSize, long targetLatencyMillis,
+                      long targetBytes) {
+        this.address = address;
+        configure(minSize, maxSize, targetLatencyMillis, targetBytes);
+        this.size = clamp(initialSize);
+    }
+
+    public static AdaptivePageSizer forAddress(String address, int initialSize, int minSize, int maxSize,
+                                               long targetLatencyMillis, long targetBytes) {
+        AdaptivePageSizer sizer = INSTANCES.computeIfAbsent(address,
+                key -> new AdaptivePageSizer(key, initialSize, minSize, maxSize, targetLatencyMillis, targetBytes));
+        sizer.configure(minSize, maxSize, targetLatencyMillis, targetBytes);
+        return sizer;
+    }
+
+    public synchronized int currentSize() {
+        return size;
+    }
+
+    /**
+     * Records a fetched page. Only full pages are considered: a short last page says nothing about larger ones.
+     */
+    public synchronized void onPage(int limit, int records, long latencyNanos, long bytes) {
+        if (records < limit) {
+            return;
+        }
+        double load = Math.max((double) latencyNanos / targetLatencyNanos, (double) bytes / targetBytes);
+        int next = size;
+        if (load > 1.0) {
+            next = clamp(Math.min(size, limit / 2));
+        } else if (load < GROW_BELOW && limit >= size) {
+            next = clamp((int) Math.min(Integer.MAX_VALUE, limit * 2L));
+        }
+        if (next != size) {
+            LOG.ok("Page size for {0} changes from {1} to {2} after a page of {3} records took {4} ms and {5} bytes",
+                    address, size, next, records, TimeUnit.NANOSECONDS.toMillis(latencyNanos), bytes);
+            size = next;
+        }
+    }
+
+    /**
+     * Translates a next-page token issued for {@code limit} records per page to {@code target} records per page.
+     * Numeric tokens are page numbers counted from 1, so the offset they stand for must be a multiple of the new
+     * size; other tokens are cursors that do not depend on the size. Returns {@code null} when the token cannot
+     * be translated and the current size has to be kept.
+     */
+    static String realign(String token, int limit, int target) {
+        long page;
+        try {
+            page = Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return token;
+        }
+        if (page < 1L) {
+            return null;
+        }
+        long offset = (page - 1L) * limit;
+        return offset % target == 0L ? String.valueOf(offset / target + 1L) : null;
+    }
+
+    private synchronized void configure(int minSize, int maxSize, long targetLatencyMillis, long targetBytes) {
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, targetLatencyMillis));
+        this.targetBytes = Math.max(1L, targetBytes);
+        this.size = clamp(size);
+    }
+
+    private int clamp(int value) {
+        return Math.max(minSize, Math.min(maxSize, value));
+    }
+}
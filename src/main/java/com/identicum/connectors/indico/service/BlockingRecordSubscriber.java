@@ -0,0 +1,92 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+
+/**
+ * Bridges a registrant publisher to a caller that hands records to a ConnId handler on its own thread. Demand
+ * is signalled in batches as the caller consumes records; closing the subscriber cancels the publisher.
+ */
+public class BlockingRecordSubscriber implements Flow.Subscriber<RegistrationRecord>, AutoCloseable {
+
+    private static final Object END = new Object();
+
+    private final int batchSize;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private volatile Flow.Subscription subscription;
+    private int consumedSinceRequest;
+    private boolean finished;
+
+    public BlockingRecordSubscriber(int batchSize) {
+        if (batchSize < 2) {
+            throw new IllegalArgumentException("Batch size must be at least 2");
+        }
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(RegistrationRecord item) {
+        queue.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        queue.add(throwable instanceof RuntimeException ? throwable
+                : new ConnectorIOException("Registrant stream failed: " + throwable.getMessage(), throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(END);
+    }
+
+    /**
+     * Returns the next record, or {@code null} once the stream is complete.
+     */
+    public RegistrationRecord next() {
+        if (finished) {
+            return null;
+        }
+        Object item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ConnectorIOException("Interrupted while waiting for registrants", e);
+        }
+        if (item == END) {
+            finished = true;
+            return null;
+        }
+        if (item instanceof RuntimeException) {
+            finished = true;
+            throw (RuntimeException) item;
+        }
+        // Top up demand at half a batch so the next page is already on its way.
+        if (++consumedSinceRequest >= batchSize / 2) {
+            subscription.request(consumedSinceRequest);
+            consumedSinceRequest = 0;
+        }
+        return (RegistrationRecord) item;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        queue.clear();
+    }
+}
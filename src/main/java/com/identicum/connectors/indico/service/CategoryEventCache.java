@@ -0,0 +1,48 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.EventSummary;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide TTL cache of the events found under a category, shared by all connector instances. An expired
+ * listing is read again in full; with a response cache configured its pages are revalidated rather than resent.
+ */
+public final class CategoryEventCache {
+
+    private static final CategoryEventCache SHARED = new CategoryEventCache();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public static CategoryEventCache shared() {
+        return SHARED;
+    }
+
+    public List<EventSummary> events(String key, long ttlMillis, Supplier<List<EventSummary>> loader) {
+        Entry entry = entries.computeIfAbsent(key, ignored -> new Entry());
+        synchronized (entry) {
+            long now = System.nanoTime();
+            if (entry.loaded && ttlMillis > 0 && now - entry.loadedAt < ttlMillis * 1_000_000L) {
+                return entry.events;
+            }
+            entry.events = Collections.unmodifiableList(loader.get());
+            entry.loadedAt = now;
+            entry.loaded = true;
+            return entry.events;
+        }
+    }
+
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    private static final class Entry {
+
+        private List<EventSummary> events = Collections.emptyList();
+        private long loadedAt;
+        private boolean loaded;
+    }
+}
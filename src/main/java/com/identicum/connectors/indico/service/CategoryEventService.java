@@ -0,0 +1,70 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.http.IndicoHttpClient;
+import com.identicum.connectors.indico.mapper.EventMapper;
+import com.identicum.connectors.indico.model.EventSummary;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+
+/**
+ * Lists the events of a category subtree through {@code /export/categ/{id}.json}.
+ */
+public class CategoryEventService {
+
+    /** Events requested per page when no page size is configured. */
+    static final int DEFAULT_PAGE_SIZE = 200;
+
+    private final IndicoHttpClient httpClient;
+    private final EventMapper mapper;
+    private final CategoryEventCache cache;
+    private final String cacheScope;
+    private final long ttlMillis;
+    private final int pageSize;
+
+    public CategoryEventService(IndicoHttpClient httpClient, EventMapper mapper, CategoryEventCache cache,
+                                String cacheScope, long ttlMillis, Integer pageSize) {
+        this.httpClient = httpClient;
+        this.mapper = mapper;
+        this.cache = cache;
+        this.cacheScope = cacheScope;
+        this.ttlMillis = ttlMillis;
+        this.pageSize = pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+    }
+
+    public List<EventSummary> listEvents(long categoryId) {
+        return cache.events(cacheScope + "|" + categoryId, ttlMillis, () -> fetchEvents(categoryId));
+    }
+
+    /**
+     * Pages through the category listing until a short page. A full page without any new event means the server
+     * does not honour {@code offset}; the listing then fails rather than looping or coming back incomplete.
+     */
+    private List<EventSummary> fetchEvents(long categoryId) {
+        String path = "/export/categ/" + categoryId + ".json";
+        Map<Long, EventSummary> events = new LinkedHashMap<>();
+        int offset = 0;
+        while (true) {
+            Map<String, String> params = new LinkedHashMap<>();
+            params.put("limit", String.valueOf(pageSize));
+            params.put("offset", String.valueOf(offset));
+            List<EventSummary> page = httpClient.get(path, Collections.emptyMap(), params, mapper::mapEvents);
+            int known = events.size();
+            for (EventSummary event : page) {
+                events.putIfAbsent(event.getEventId(), event);
+            }
+            if (page.size() < pageSize) {
+                return new ArrayList<>(events.values());
+            }
+            if (events.size() == known) {
+                throw new ConnectorIOException(String.format(
+                        "Listing of category %d returned no new events at offset %d; the server ignores paging",
+                        categoryId, offset));
+            }
+            offset += page.size();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.identicum.connectors.indico.service;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+
+/**
+ * Turns the events a search could not fetch into the exception that ends it. A search missing some events must
+ * not complete normally, or reconciliation would take their registrants for deleted accounts.
+ */
+final class EventFailures {
+
+    private EventFailures() {
+    }
+
+    /**
+     * Returns the exception to throw once the healthy events have been streamed, or {@code null} when none failed.
+     * When every event failed the first failure is rethrown so that its type, e.g. a security error, is kept.
+     */
+    static RuntimeException toException(Map<Long, RuntimeException> failures, int eventCount) {
+        if (failures.isEmpty()) {
+            return null;
+        }
+        RuntimeException first = failures.values().iterator().next();
+        RuntimeException result = failures.size() == eventCount ? first
+                : new ConnectorIOException("Could not fetch the registrants of " + failures.size() + " of " + eventCount
+                        + " events: " + failures.entrySet().stream()
+                        .map(entry -> entry.getKey() + " (" + entry.getValue().getMessage() + ")")
+                        .collect(Collectors.joining(", ")), first);
+        failures.values().stream().filter(failure -> failure != first).forEach(result::addSuppressed);
+        return result;
+    }
+}
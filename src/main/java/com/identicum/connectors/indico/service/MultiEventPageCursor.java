@@ -0,0 +1,162 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+
+/**
+ * Fetches the registrants of several events concurrently and merges their pages into a single cursor.
+ * A failing event does not stop the others; once their pages are consumed the cursor throws an exception
+ * naming every failed event, unless the caller accepts partial results and inspects {@link #getFailures()}.
+ */
+public class MultiEventPageCursor implements PageCursor {
+
+    private static final Log LOG = Log.getLog(MultiEventPageCursor.class);
+
+    private static final Object END = new Object();
+
+    private final RegistrationService registrationService;
+    private final RegistrationQuery template;
+    private final int eventCount;
+    private final Queue<Long> pendingEvents;
+    private final BlockingQueue<Object> buffer = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+    private final AtomicInteger activeWorkers;
+    private final Map<Long, RuntimeException> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final boolean partialResults;
+    private volatile boolean closed;
+    private boolean finished;
+
+    public MultiEventPageCursor(RegistrationService registrationService, RegistrationQuery template, List<Long> eventIds,
+                                int concurrency, ExecutorService executor) {
+        this(registrationService, template, eventIds, concurrency, executor, false);
+    }
+
+    /**
+     * With {@code partialResults}, failed events only end the cursor with an exception when every event failed.
+     */
+    public MultiEventPageCursor(RegistrationService registrationService, RegistrationQuery template, List<Long> eventIds,
+                                int concurrency, ExecutorService executor, boolean partialResults) {
+        if (eventIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one event is required");
+        }
+        this.registrationService = registrationService;
+        this.template = template;
+        this.eventCount = eventIds.size();
+        this.partialResults = partialResults;
+        this.pendingEvents = new ConcurrentLinkedQueue<>(eventIds);
+        int workers = Math.max(1, Math.min(concurrency, eventIds.size()));
+        // Each worker may hand over one page while the consumer is still busy with the previous one.
+        this.permits = new Semaphore(workers);
+        this.activeWorkers = new AtomicInteger(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(this::work));
+        }
+    }
+
+    @Override
+    public RegistrationPage next() {
+        if (finished) {
+            return null;
+        }
+        Object item;
+        try {
+            item = buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ConnectorIOException("Interrupted while waiting for registrant pages", e);
+        }
+        if (item == END) {
+            finished = true;
+            throwFailures();
+            return null;
+        }
+        permits.release();
+        return (RegistrationPage) item;
+    }
+
+    /**
+     * Events that could not be searched, keyed by event identifier.
+     */
+    public Map<Long, RuntimeException> getFailures() {
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        finished = true;
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+        buffer.clear();
+    }
+
+    private void work() {
+        try {
+            Long eventId;
+            while (!closed && (eventId = pendingEvents.poll()) != null) {
+                fetchEvent(eventId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (activeWorkers.decrementAndGet() == 0) {
+                buffer.add(END);
+            }
+        }
+    }
+
+    private void fetchEvent(long eventId) throws InterruptedException {
+        try (SequentialPageCursor cursor = new SequentialPageCursor(registrationService, template.withEventId(eventId))) {
+            RegistrationPage page;
+            while (!closed) {
+                permits.acquire();
+                page = cursor.next();
+                if (page == null) {
+                    permits.release();
+                    return;
+                }
+                buffer.add(page);
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            if (closed) {
+                return;
+            }
+            LOG.warn(e, "Cannot fetch registrants of event {0}: {1}", eventId, e.getMessage());
+            failures.put(eventId, e);
+        }
+    }
+
+    private void throwFailures() {
+        Map<Long, RuntimeException> failed = getFailures();
+        if (partialResults && failed.size() < eventCount) {
+            return;
+        }
+        RuntimeException failure = EventFailures.toException(failed, eventCount);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+
+/**
+ * Iterates the pages of a registrant search. Closing the cursor abandons any fetch still in progress.
+ */
+public interface PageCursor extends AutoCloseable {
+
+    /**
+     * Returns the next page, or {@code null} once the search is exhausted.
+     */
+    RegistrationPage next();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,101 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+
+/**
+ * Fetches up to {@code depth} pages ahead of the consumer on a background thread.
+ */
+public class PrefetchingPageCursor implements PageCursor {
+
+    private static final Log LOG = Log.getLog(PrefetchingPageCursor.class);
+
+    private static final Object END = new Object();
+
+    private final RegistrationService registrationService;
+    private final BlockingQueue<Object> buffer = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+    private final Future<?> producer;
+    private volatile boolean closed;
+    private boolean finished;
+
+    public PrefetchingPageCursor(RegistrationService registrationService, RegistrationQuery query, int depth,
+                                 ExecutorService executor) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Prefetch depth must be positive");
+        }
+        this.registrationService = registrationService;
+        // One permit per page that may be buffered ahead of the page the consumer is working on.
+        this.permits = new Semaphore(depth);
+        this.producer = executor.submit(() -> produce(query));
+    }
+
+    @Override
+    public RegistrationPage next() {
+        if (finished) {
+            return null;
+        }
+        Object item;
+        try {
+            item = buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new ConnectorIOException("Interrupted while waiting for the next registrant page", e);
+        }
+        permits.release();
+        if (item == END) {
+            finished = true;
+            return null;
+        }
+        if (item instanceof RuntimeException) {
+            finished = true;
+            throw (RuntimeException) item;
+        }
+        return (RegistrationPage) item;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        finished = true;
+        producer.cancel(true);
+        buffer.clear();
+    }
+
+    private void produce(RegistrationQuery first) {
+        RegistrationQuery current = first;
+        try {
+            while (!closed) {
+                permits.acquire();
+                RegistrationPage page = registrationService.fetchRegistrations(current);
+                buffer.add(page);
+                if (!page.hasNextPage()) {
+                    buffer.add(END);
+                    return;
+                }
+                current = current.nextPage(page.getNextPageToken());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!closed) {
+                buffer.add(new ConnectorIOException("Registrant prefetch was interrupted", e));
+            }
+        } catch (RuntimeException e) {
+            if (closed) {
+                LOG.ok("Ignoring prefetch failure after cursor was closed: {0}", e.getMessage());
+            } else {
+                buffer.add(e);
+            }
+        }
+    }
+}
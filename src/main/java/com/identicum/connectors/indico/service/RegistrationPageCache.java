@@ -0,0 +1,173 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide LRU cache of registrant pages shared by all connector instances. Entries expire after the TTL
+ * supplied by the caller and are evicted in least-recently-used order once the entry or byte budget is exceeded.
+ */
+public final class RegistrationPageCache {
+
+    private static final RegistrationPageCache SHARED = new RegistrationPageCache();
+
+    private static final long PAGE_OVERHEAD_BYTES = 64L;
+    private static final long RECORD_OVERHEAD_BYTES = 96L;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private int maxEntries = 1_000;
+    private long maxBytes = 64L * 1024 * 1024;
+    private long currentBytes;
+
+    public static RegistrationPageCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Applies the budget of the most recently initialised connector instance and trims the cache to it.
+     */
+    public synchronized void configure(int maxEntries, long maxBytes) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxBytes = Math.max(1L, maxBytes);
+        trim();
+    }
+
+    public RegistrationPage get(String key, long ttlMillis) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.storedAt <= ttlMillis * 1_000_000L) {
+                hits.increment();
+                return entry.page;
+            }
+            if (entry != null) {
+                remove(key, entry);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized void put(String key, RegistrationPage page) {
+        long size = estimateSize(page);
+        if (size > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(page, size, System.nanoTime()));
+        if (previous != null) {
+            currentBytes -= previous.size;
+        }
+        currentBytes += size;
+        trim();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0L;
+    }
+
+    public synchronized Statistics statistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), entries.size(), currentBytes);
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || currentBytes > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            currentBytes -= eldest.size;
+            evictions.increment();
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        currentBytes -= entry.size;
+    }
+
+    static long estimateSize(RegistrationPage page) {
+        long size = PAGE_OVERHEAD_BYTES + length(page.getNextPageToken());
+        for (RegistrationRecord record : page.getRecords()) {
+            size += RECORD_OVERHEAD_BYTES
+                    + length(record.getRegistrationId())
+                    + length(record.getEmail())
+                    + length(record.getFirstName())
+                    + length(record.getLastName())
+                    + length(record.getFullName())
+                    + length(record.getState())
+                    + length(record.getCreatedDate())
+                    + length(record.getModifiedDate())
+                    + length(record.getCategoryPath());
+        }
+        return size;
+    }
+
+    private static long length(String value) {
+        return value == null ? 0L : 40L + 2L * value.length();
+    }
+
+    private static final class Entry {
+
+        private final RegistrationPage page;
+        private final long size;
+        private final long storedAt;
+
+        Entry(RegistrationPage page, long size, long storedAt) {
+            this.page = page;
+            this.size = size;
+            this.storedAt = storedAt;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters.
+     */
+    public static final class Statistics {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int entries;
+        private final long bytes;
+
+        Statistics(long hits, long misses, long evictions, int entries, long bytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.bytes = bytes;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                    + ", entries=" + entries + ", bytes=" + bytes;
+        }
+    }
+}
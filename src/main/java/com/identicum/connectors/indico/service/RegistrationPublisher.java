@@ -0,0 +1,208 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+
+/**
+ * Publishes the registrants of one or more events from asynchronous page fetches. Pages are only requested
+ * while the buffered records do not cover the subscriber's demand, so a slow subscriber throttles the fetching.
+ * As with {@link MultiEventPageCursor}, the healthy events are streamed in full and a failing event then ends the
+ * stream with an error naming it.
+ */
+class RegistrationPublisher implements Flow.Publisher<RegistrationRecord> {
+
+    private static final Log LOG = Log.getLog(RegistrationPublisher.class);
+
+    /** Records buffered ahead of an unbounded subscriber before further pages wait for consumption. */
+    static final int BUFFER_LIMIT = 10_000;
+
+    private final RegistrationService registrationService;
+    private final RegistrationQuery query;
+    private final List<Long> eventIds;
+    private final int concurrency;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    RegistrationPublisher(RegistrationService registrationService, RegistrationQuery query, List<Long> eventIds,
+                          int concurrency) {
+        if (eventIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one event is required");
+        }
+        this.registrationService = registrationService;
+        this.query = query;
+        this.eventIds = eventIds;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super RegistrationRecord> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Registrant publisher supports a single subscriber"));
+            return;
+        }
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private final class Subscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super RegistrationRecord> subscriber;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Queue<Long> pendingEvents;
+        private final Deque<RegistrationQuery> ready = new ArrayDeque<>();
+        private final Deque<RegistrationRecord> buffer = new ArrayDeque<>();
+        private final Map<Long, RuntimeException> failures = new LinkedHashMap<>();
+        private long demand;
+        private int inFlight;
+        private boolean cancelled;
+        private boolean terminated;
+
+        Subscription(Flow.Subscriber<? super RegistrationRecord> subscriber) {
+            this.subscriber = subscriber;
+            this.pendingEvents = new ArrayDeque<>(eventIds);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                synchronized (this) {
+                    cancelled = true;
+                }
+                subscriber.onError(new IllegalArgumentException("Demand must be positive: " + n));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                buffer.clear();
+                ready.clear();
+                pendingEvents.clear();
+            }
+        }
+
+        /**
+         * Delivers buffered records, completes the stream and starts page fetches. Runs on whichever thread
+         * signalled last; the work-in-progress counter keeps deliveries serial.
+         */
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                RegistrationRecord record;
+                while ((record = poll()) != null) {
+                    subscriber.onNext(record);
+                }
+                Throwable error = null;
+                boolean complete = false;
+                synchronized (this) {
+                    if (!cancelled && !terminated && buffer.isEmpty() && inFlight == 0 && ready.isEmpty()
+                            && pendingEvents.isEmpty()) {
+                        terminated = true;
+                        error = EventFailures.toException(failures, eventIds.size());
+                        complete = error == null;
+                    }
+                }
+                if (error != null) {
+                    subscriber.onError(error);
+                } else if (complete) {
+                    subscriber.onComplete();
+                }
+                startFetches();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private synchronized RegistrationRecord poll() {
+            if (cancelled || demand == 0 || buffer.isEmpty()) {
+                return null;
+            }
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            return buffer.poll();
+        }
+
+        private void startFetches() {
+            while (true) {
+                Long eventId;
+                RegistrationQuery next;
+                synchronized (this) {
+                    if (cancelled || terminated || inFlight >= concurrency
+                            || buffer.size() >= Math.min(demand, BUFFER_LIMIT)) {
+                        return;
+                    }
+                    next = ready.poll();
+                    if (next == null) {
+                        eventId = pendingEvents.poll();
+                        if (eventId == null) {
+                            return;
+                        }
+                        // A single event keeps the caller's page token; further events start at their first page.
+                        next = eventIds.size() == 1 ? query : query.withEventId(eventId);
+                    }
+                    inFlight++;
+                }
+                RegistrationQuery current = next;
+                registrationService.fetchRegistrationsAsync(current)
+                        .whenComplete((page, error) -> onPage(current, page, error));
+            }
+        }
+
+        private void onPage(RegistrationQuery current, RegistrationPage page, Throwable error) {
+            synchronized (this) {
+                inFlight--;
+                if (!cancelled) {
+                    if (error != null) {
+                        RuntimeException failure = toRuntime(error);
+                        LOG.warn(failure, "Could not fetch registrants of event {0}: {1}", current.getEventId(),
+                                failure.getMessage());
+                        failures.put(current.getEventId(), failure);
+                    } else {
+                        buffer.addAll(page.getRecords());
+                        if (page.hasNextPage()) {
+                            // Finishing an event before opening the next keeps its pages in order.
+                            ready.addFirst(current.nextPage(page.getNextPageToken()));
+                        }
+                    }
+                }
+            }
+            drain();
+        }
+    }
+
+    private static RuntimeException toRuntime(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException ? (RuntimeException) cause
+                : new ConnectorIOException("Registrant fetch failed: " + cause.getMessage(), cause);
+    }
+}
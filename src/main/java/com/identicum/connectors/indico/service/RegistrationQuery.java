@@ -1,5 +1,8 @@
 package com.identicum.connectors.indico.service;
 
+import com.identicum.connectors.indico.mapper.AttributePlan;
+import com.identicum.connectors.indico.metrics.SearchTrace;
+
 public class RegistrationQuery {
 
     private final long eventId;
@@ -7,13 +10,26 @@ public class RegistrationQuery {
     private final String email;
     private final Integer limit;
     private final String pageToken;
+    private final boolean cacheable;
+    private final AttributePlan plan;
+    private final SearchTrace trace;
+    private final AdaptivePageSizer pageSizer;
 
     public RegistrationQuery(long eventId, String registrationId, String email, Integer limit, String pageToken) {
+        this(eventId, registrationId, email, limit, pageToken, true, AttributePlan.ALL, null, null);
+    }
+
+    private RegistrationQuery(long eventId, String registrationId, String email, Integer limit, String pageToken,
+                              boolean cacheable, AttributePlan plan, SearchTrace trace, AdaptivePageSizer pageSizer) {
         this.eventId = eventId;
         this.registrationId = registrationId;
         this.email = email;
         this.limit = limit;
         this.pageToken = pageToken;
+        this.cacheable = cacheable;
+        this.plan = plan;
+        this.trace = trace;
+        this.pageSizer = pageSizer;
     }
 
     public long getEventId() {
@@ -36,7 +52,78 @@ public class RegistrationQuery {
         return pageToken;
     }
 
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    public AttributePlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Returns the timing breakdown of the search this query belongs to, or {@code null} when it is not traced.
+     */
+    public SearchTrace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Returns the sizer adapting the limit between pages, or {@code null} when the limit is fixed.
+     */
+    public AdaptivePageSizer getPageSizer() {
+        return pageSizer;
+    }
+
+    /**
+     * Returns the query for the following page; with a page sizer, its current size is adopted whenever the
+     * token can be translated to it.
+     */
     public RegistrationQuery nextPage(String nextPageToken) {
-        return new RegistrationQuery(eventId, registrationId, email, limit, nextPageToken);
+        if (pageSizer != null && limit != null && nextPageToken != null) {
+            int target = pageSizer.currentSize();
+            String token = target != limit ? AdaptivePageSizer.realign(nextPageToken, limit, target) : null;
+            if (token != null) {
+                return new RegistrationQuery(eventId, registrationId, email, target, token, cacheable, plan, trace,
+                        pageSizer);
+            }
+        }
+        return new RegistrationQuery(eventId, registrationId, email, limit, nextPageToken, cacheable, plan, trace,
+                pageSizer);
+    }
+
+    public RegistrationQuery withEventId(long otherEventId) {
+        return new RegistrationQuery(otherEventId, registrationId, email, limit, null, cacheable, plan, trace,
+                pageSizer);
+    }
+
+    /**
+     * Returns a copy whose pages are always fetched from Indico, as required by sync passes.
+     */
+    public RegistrationQuery bypassCache() {
+        return new RegistrationQuery(eventId, registrationId, email, limit, pageToken, false, plan, trace, pageSizer);
+    }
+
+    /**
+     * Returns a copy whose pages are parsed according to the given projection.
+     */
+    public RegistrationQuery withPlan(AttributePlan otherPlan) {
+        return new RegistrationQuery(eventId, registrationId, email, limit, pageToken, cacheable, otherPlan, trace,
+                pageSizer);
+    }
+
+    /**
+     * Returns a copy whose fetches report their timings to the given trace.
+     */
+    public RegistrationQuery withTrace(SearchTrace otherTrace) {
+        return new RegistrationQuery(eventId, registrationId, email, limit, pageToken, cacheable, plan, otherTrace,
+                pageSizer);
+    }
+
+    /**
+     * Returns a copy whose following pages adopt the size chosen by the given sizer.
+     */
+    public RegistrationQuery withPageSizer(AdaptivePageSizer otherPageSizer) {
+        return new RegistrationQuery(eventId, registrationId, email, limit, pageToken, cacheable, plan, trace,
+                otherPageSizer);
     }
 }
@@ -1,10 +1,19 @@
 package com.identicum.connectors.indico.service;
 
+import com.identicum.connectors.indico.http.CountingInputStream;
 import com.identicum.connectors.indico.http.IndicoHttpClient;
 import com.identicum.connectors.indico.mapper.RegistrationMapper;
 import com.identicum.connectors.indico.model.RegistrationPage;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service abstraction for Indico registrant exports.
@@ -13,28 +22,147 @@ public class RegistrationService {
 
     private final IndicoHttpClient httpClient;
     private final RegistrationMapper mapper;
+    private final RegistrationPageCache cache;
+    private final String cacheScope;
+    private final long cacheTtlMillis;
 
     public RegistrationService(IndicoHttpClient httpClient, RegistrationMapper mapper) {
+        this(httpClient, mapper, null, null, 0L);
+    }
+
+    public RegistrationService(IndicoHttpClient httpClient, RegistrationMapper mapper, RegistrationPageCache cache,
+                               String cacheScope, long cacheTtlMillis) {
         this.httpClient = httpClient;
         this.mapper = mapper;
+        this.cache = cache;
+        this.cacheScope = cacheScope;
+        this.cacheTtlMillis = cacheTtlMillis;
     }
 
     public RegistrationPage fetchRegistrations(RegistrationQuery query) {
-        String path = "/export/registrants/" + query.getEventId() + ".json";
-        Map<String, String> params = new LinkedHashMap<>();
-        if (query.getLimit() != null) {
-            params.put("limit", String.valueOf(query.getLimit()));
+        RegistrationPage page;
+        if (cache == null || cacheTtlMillis <= 0L || !query.isCacheable()) {
+            page = fetchFromIndico(query);
+        } else {
+            String key = cacheKey(query);
+            page = cache.get(key, cacheTtlMillis);
+            if (page == null) {
+                page = fetchFromIndico(query);
+                cache.put(key, page);
+            }
         }
-        if (query.getPageToken() != null && !query.getPageToken().isEmpty()) {
-            params.put("page", query.getPageToken());
+        if (query.getTrace() != null) {
+            query.getTrace().onPage();
+        }
+        return page;
+    }
+
+    /**
+     * Non-blocking variant of {@link #fetchRegistrations(RegistrationQuery)}; cached pages complete immediately.
+     */
+    public CompletableFuture<RegistrationPage> fetchRegistrationsAsync(RegistrationQuery query) {
+        if (query.getTrace() == null) {
+            return fetchAsync(query);
+        }
+        return fetchAsync(query).thenApply(page -> {
+            query.getTrace().onPage();
+            return page;
+        });
+    }
+
+    private CompletableFuture<RegistrationPage> fetchAsync(RegistrationQuery query) {
+        if (cache == null || cacheTtlMillis <= 0L || !query.isCacheable()) {
+            return fetchFromIndicoAsync(query);
+        }
+        String key = cacheKey(query);
+        RegistrationPage cached = cache.get(key, cacheTtlMillis);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return fetchFromIndicoAsync(query).thenApply(page -> {
+            cache.put(key, page);
+            return page;
+        });
+    }
+
+    /**
+     * Publishes the registrants of the given events page by page; pages are only requested from Indico as the
+     * subscriber signals demand, with at most {@code concurrency} events fetched at the same time.
+     */
+    public Flow.Publisher<RegistrationRecord> publish(RegistrationQuery query, List<Long> eventIds, int concurrency) {
+        return new RegistrationPublisher(this, query, eventIds, concurrency);
+    }
+
+    private String cacheKey(RegistrationQuery query) {
+        return cacheScope + "|" + query.getEventId() + "|" + query.getPageToken() + "|" + query.getLimit()
+                + "|" + query.getRegistrationId() + "|" + query.getEmail() + "|" + query.getPlan().key();
+    }
+
+    private RegistrationPage fetchFromIndico(RegistrationQuery query) {
+        long start = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        RegistrationPage page = httpClient.get(path(query), Collections.emptyMap(), parameters(query),
+                body -> read(query, body, bytes), query.getTrace());
+        httpClient.getMetrics().onPage();
+        observe(query, page, System.nanoTime() - start, bytes.get());
+        return page;
+    }
+
+    private CompletableFuture<RegistrationPage> fetchFromIndicoAsync(RegistrationQuery query) {
+        long start = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        return httpClient.getAsync(path(query), Collections.emptyMap(), parameters(query),
+                body -> read(query, body, bytes), query.getTrace())
+                .thenApply(page -> {
+                    httpClient.getMetrics().onPage();
+                    observe(query, page, System.nanoTime() - start, bytes.get());
+                    return page;
+                });
+    }
+
+    /**
+     * Maps the page, counting its decoded bytes when an adaptive page sizer needs them.
+     */
+    private RegistrationPage read(RegistrationQuery query, InputStream body, AtomicLong bytes) throws IOException {
+        if (query.getPageSizer() == null) {
+            return mapper.mapPage(body, query.getEventId(), query.getPlan());
+        }
+        CountingInputStream counted = new CountingInputStream(body, count -> { });
+        try {
+            return mapper.mapPage(counted, query.getEventId(), query.getPlan());
+        } finally {
+            bytes.set(counted.count());
+        }
+    }
+
+    private static void observe(RegistrationQuery query, RegistrationPage page, long latencyNanos, long bytes) {
+        if (query.getPageSizer() != null && query.getLimit() != null) {
+            query.getPageSizer().onPage(query.getLimit(), page.getRecords().size(), latencyNanos, bytes);
         }
+    }
+
+    private static String path(RegistrationQuery query) {
+        return "/export/registrants/" + query.getEventId() + ".json";
+    }
+
+    /**
+     * Lookup values and paging vary per call, so they are request parameters: as fixed parameters every
+     * registration id or email would compile a one-off request template and keep it in the template cache.
+     */
+    private static Map<String, String> parameters(RegistrationQuery query) {
+        Map<String, String> parameters = new LinkedHashMap<>();
         if (query.getRegistrationId() != null) {
-            params.put("registration_id", query.getRegistrationId());
+            parameters.put("registration_id", query.getRegistrationId());
         }
         if (query.getEmail() != null) {
-            params.put("email", query.getEmail());
+            parameters.put("email", query.getEmail());
+        }
+        if (query.getLimit() != null) {
+            parameters.put("limit", String.valueOf(query.getLimit()));
+        }
+        if (query.getPageToken() != null && !query.getPageToken().isEmpty()) {
+            parameters.put("page", query.getPageToken());
         }
-        String responseBody = httpClient.get(path, params);
-        return mapper.mapPage(responseBody, query.getEventId());
+        return parameters;
     }
 }
@@ -0,0 +1,32 @@
+package com.identicum.connectors.indico.service;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+
+/**
+ * Fetches each page on demand, on the calling thread.
+ */
+public class SequentialPageCursor implements PageCursor {
+
+    private final RegistrationService registrationService;
+    private RegistrationQuery current;
+
+    public SequentialPageCursor(RegistrationService registrationService, RegistrationQuery query) {
+        this.registrationService = registrationService;
+        this.current = query;
+    }
+
+    @Override
+    public RegistrationPage next() {
+        if (current == null) {
+            return null;
+        }
+        RegistrationPage page = registrationService.fetchRegistrations(current);
+        current = page.hasNextPage() ? current.nextPage(page.getNextPageToken()) : null;
+        return page;
+    }
+
+    @Override
+    public void close() {
+        current = null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.identicum.connectors.indico.sync;
+
+/**
+ * Watermark and registration identifiers observed for one event at the end of a completed sync pass.
+ */
+public final class EventSyncState {
+
+    private final String watermark;
+    private final SeenIds seenIds;
+
+    public EventSyncState(String watermark, SeenIds seenIds) {
+        this.watermark = watermark;
+        this.seenIds = seenIds;
+    }
+
+    public String getWatermark() {
+        return watermark;
+    }
+
+    public SeenIds getSeenIds() {
+        return seenIds;
+    }
+}
@@ -0,0 +1,68 @@
+package com.identicum.connectors.indico.sync;
+
+import com.identicum.connectors.indico.model.IndicoDates;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tracks one event during a sync pass: decides which records changed since the previous watermark and
+ * collects the identifiers needed to detect deletions on the next pass.
+ */
+public class EventSyncTracker {
+
+    private final boolean fullSync;
+    private final String previousWatermark;
+    private final SeenIds previousSeen;
+    private final SeenIds.Builder seen = SeenIds.builder();
+    private String watermark;
+
+    /**
+     * @param fullSync          whether every record must be reported, as for a sync without token
+     * @param previousWatermark watermark carried by the token for this event
+     * @param previousSeen      identifiers seen by the pass that issued the token, or {@code null} when unknown
+     */
+    public EventSyncTracker(boolean fullSync, String previousWatermark, SeenIds previousSeen) {
+        this.fullSync = fullSync;
+        this.previousWatermark = previousWatermark;
+        this.previousSeen = previousSeen;
+        this.watermark = previousWatermark;
+    }
+
+    /**
+     * Records the registration and returns whether it must be reported as created or updated.
+     */
+    public boolean observe(RegistrationRecord record) {
+        String id = record.getRegistrationId();
+        seen.add(id);
+        String modified = record.getModifiedDate();
+        if (modified != null && IndicoDates.compare(modified, watermark) > 0) {
+            watermark = modified;
+        }
+        if (fullSync) {
+            return true;
+        }
+        boolean unseen = previousSeen == null || !previousSeen.contains(id);
+        if (modified == null) {
+            return unseen;
+        }
+        return IndicoDates.compare(modified, previousWatermark) > 0 || (previousSeen != null && unseen);
+    }
+
+    /**
+     * Completes the pass and returns the state to keep for the next one.
+     */
+    public EventSyncState finish() {
+        return new EventSyncState(watermark, seen.build());
+    }
+
+    /**
+     * Identifiers seen by the previous pass that are missing from {@code current}.
+     */
+    public List<String> deletedIds(EventSyncState current) {
+        if (previousSeen == null || fullSync) {
+            return Collections.emptyList();
+        }
+        return previousSeen.missingFrom(current.getSeenIds());
+    }
+}
@@ -0,0 +1,139 @@
+package com.identicum.connectors.indico.sync;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable sorted set of registration identifiers. Purely numeric identifiers, the usual case for Indico,
+ * are held in a primitive array to keep the set compact for large events.
+ */
+public final class SeenIds {
+
+    private static final SeenIds EMPTY = new SeenIds(new long[0], null);
+
+    private final long[] numeric;
+    private final String[] text;
+
+    private SeenIds(long[] numeric, String[] text) {
+        this.numeric = numeric;
+        this.text = text;
+    }
+
+    public static SeenIds empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return text != null ? text.length : numeric.length;
+    }
+
+    public boolean contains(String id) {
+        if (id == null) {
+            return false;
+        }
+        if (text != null) {
+            return Arrays.binarySearch(text, id) >= 0;
+        }
+        Long value = asCanonicalLong(id);
+        return value != null && Arrays.binarySearch(numeric, value) >= 0;
+    }
+
+    /**
+     * Returns the identifiers of this set that are absent from {@code current}.
+     */
+    public List<String> missingFrom(SeenIds current) {
+        List<String> missing = new ArrayList<>();
+        if (text != null) {
+            for (String id : text) {
+                if (!current.contains(id)) {
+                    missing.add(id);
+                }
+            }
+        } else {
+            for (long id : numeric) {
+                String value = Long.toString(id);
+                if (!current.contains(value)) {
+                    missing.add(value);
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static Long asCanonicalLong(String id) {
+        int length = id.length();
+        if (length == 0 || length > 18) {
+            return null;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9' || (i == 0 && c == '0' && length > 1)) {
+                return null;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public static final class Builder {
+
+        private long[] numeric = new long[64];
+        private int count;
+        private List<String> text;
+
+        private Builder() {
+        }
+
+        public Builder add(String id) {
+            if (id == null) {
+                return this;
+            }
+            if (text == null) {
+                Long value = asCanonicalLong(id);
+                if (value != null) {
+                    if (count == numeric.length) {
+                        numeric = Arrays.copyOf(numeric, count * 2);
+                    }
+                    numeric[count++] = value;
+                    return this;
+                }
+                text = new ArrayList<>(count + 16);
+                for (int i = 0; i < count; i++) {
+                    text.add(Long.toString(numeric[i]));
+                }
+                numeric = null;
+            }
+            text.add(id);
+            return this;
+        }
+
+        public SeenIds build() {
+            if (text != null) {
+                String[] values = text.stream().distinct().sorted().toArray(String[]::new);
+                return new SeenIds(null, values);
+            }
+            long[] values = Arrays.copyOf(numeric, count);
+            Arrays.sort(values);
+            return new SeenIds(distinct(values), null);
+        }
+
+        private static long[] distinct(long[] sorted) {
+            if (sorted.length < 2) {
+                return sorted;
+            }
+            int size = 1;
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i] != sorted[size - 1]) {
+                    sorted[size++] = sorted[i];
+                }
+            }
+            return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.identicum.connectors.indico.sync;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide store of the identifiers seen by the last sync pass of each event, used to detect deletions.
+ * State lives in memory only: after a restart the first sync of an event re-establishes it without reporting
+ * deletions.
+ */
+public final class SyncStateStore {
+
+    private static final SyncStateStore SHARED = new SyncStateStore();
+
+    private final Map<String, EventSyncState> states = new ConcurrentHashMap<>();
+
+    public static SyncStateStore shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the stored state only when it was produced by the pass that issued {@code watermark}.
+     */
+    public EventSyncState get(String scope, long eventId, String watermark) {
+        EventSyncState state = states.get(key(scope, eventId));
+        if (state == null || !Objects.equals(state.getWatermark(), watermark)) {
+            return null;
+        }
+        return state;
+    }
+
+    public void put(String scope, long eventId, EventSyncState state) {
+        states.put(key(scope, eventId), state);
+    }
+
+    private static String key(String scope, long eventId) {
+        return scope + "|" + eventId;
+    }
+}
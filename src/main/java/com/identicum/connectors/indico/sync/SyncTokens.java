@@ -0,0 +1,59 @@
+package com.identicum.connectors.indico.sync;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.identityconnectors.framework.common.objects.SyncToken;
+
+/**
+ * Encodes per-event watermarks as {@code v1;<eventId>=<modification date>,...}.
+ */
+public final class SyncTokens {
+
+    private static final String PREFIX = "v1;";
+
+    private SyncTokens() {
+    }
+
+    public static SyncToken encode(Map<Long, String> watermarks) {
+        StringBuilder value = new StringBuilder(PREFIX);
+        boolean first = true;
+        for (Map.Entry<Long, String> entry : watermarks.entrySet()) {
+            if (!first) {
+                value.append(',');
+            }
+            first = false;
+            value.append(entry.getKey()).append('=');
+            if (entry.getValue() != null) {
+                value.append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+            }
+        }
+        return new SyncToken(value.toString());
+    }
+
+    public static Map<Long, String> decode(SyncToken token) {
+        Map<Long, String> watermarks = new LinkedHashMap<>();
+        if (token == null || token.getValue() == null) {
+            return watermarks;
+        }
+        String value = token.getValue().toString();
+        if (!value.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Unsupported sync token: " + value);
+        }
+        for (String pair : value.substring(PREFIX.length()).split(",")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed sync token entry: " + pair);
+            }
+            long eventId = Long.parseLong(pair.substring(0, separator));
+            String watermark = pair.substring(separator + 1);
+            watermarks.put(eventId, watermark.isEmpty() ? null : URLDecoder.decode(watermark, StandardCharsets.UTF_8));
+        }
+        return watermarks;
+    }
+}
@@ -0,0 +1,67 @@
+package com.identicum.connectors.indico.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Java 21 layer of the multi-release JAR: executors run every task on its own virtual thread when asked to,
+ * so blocking on Indico costs no platform thread. Without the switch they behave as on Java 11.
+ */
+public final class WorkerExecutors {
+
+    private WorkerExecutors() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return true;
+    }
+
+    /**
+     * Returns a pool of at most {@code threads} platform threads, or a virtual thread per task.
+     */
+    public static ExecutorService bounded(String namePrefix, int threads, boolean virtual) {
+        if (virtual) {
+            return virtualThreadPerTask(namePrefix);
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new DaemonThreadFactory(namePrefix));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Returns a cached platform pool, or a virtual thread per task.
+     */
+    public static ExecutorService unbounded(String namePrefix, boolean virtual) {
+        if (virtual) {
+            return virtualThreadPerTask(namePrefix);
+        }
+        return Executors.newCachedThreadPool(new DaemonThreadFactory(namePrefix));
+    }
+
+    private static ExecutorService virtualThreadPerTask(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix + "-v", 1).factory());
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        DaemonThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.identicum.connectors.indico;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.identityconnectors.common.security.GuardedString;
+import org.junit.jupiter.api.Test;
+
+class IndicoAuthenticatorTest {
+
+    @Test
+    void signsSortedCanonicalQuery() throws Exception {
+        IndicoAuthenticator authenticator = new IndicoAuthenticator(apiKeyConfiguration("sécret"));
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("limit", "200");
+        parameters.put("timestamp", "1700000000");
+        parameters.put("email", "zoë@example.org");
+
+        Map<String, String> signed = authenticator.enrichQueryParameters("/export/registrants/1.json", parameters);
+
+        assertEquals(expectedSignature("sécret",
+                "/export/registrants/1.json?apikey=key&email=zoë@example.org&limit=200&timestamp=1700000000"),
+                signed.get("signature"));
+        assertEquals("1700000000", signed.get("timestamp"));
+    }
+
+    @Test
+    void signaturesAreStableAcrossThreads() throws Exception {
+        IndicoAuthenticator authenticator = new IndicoAuthenticator(apiKeyConfiguration("secret"));
+        Map<String, String> parameters = Map.of("timestamp", "1", "page", "p");
+        String expected = expectedSignature("secret", "/p?apikey=key&page=p&timestamp=1");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> signatures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                signatures.add(executor.submit(() -> authenticator.enrichQueryParameters("/p", parameters).get("signature")));
+            }
+            for (Future<String> signature : signatures) {
+                assertEquals(expected, signature.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void signersReuseWorkspacesAcrossThreads() throws Exception {
+        HmacSigner signer = HmacSigner.of(new GuardedString("secret".toCharArray()));
+        String expected = expectedSignature("secret", "/p?page=p&timestamp=1");
+        for (int i = 0; i < 20; i++) {
+            String[] signature = new String[1];
+            Thread thread = new Thread(() -> signature[0] = signer.sign("/p", Map.of("timestamp", "1", "page", "p")));
+            thread.start();
+            thread.join();
+            assertEquals(expected, signature[0]);
+        }
+
+        assertEquals(1, signer.idleWorkspaces());
+    }
+
+    @Test
+    void emptySecretSkipsSigning() {
+        Map<String, String> enriched = new IndicoAuthenticator(apiKeyConfiguration(""))
+                .enrichQueryParameters("/p", Map.of());
+        assertFalse(enriched.containsKey("signature"));
+        assertEquals("key", enriched.get("apikey"));
+    }
+
+    private static IndicoConfiguration apiKeyConfiguration(String secret) {
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setServiceAddress("https://indico.test");
+        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.API_KEY);
+        configuration.setApiKey("key");
+        configuration.setApiSecret(new GuardedString(secret.toCharArray()));
+        return configuration;
+    }
+
+    private static String expectedSignature(String secret, String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,8 +1,10 @@
 package com.identicum.connectors.indico;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
 import org.identityconnectors.common.security.GuardedString;
 import org.junit.jupiter.api.Test;
 
@@ -28,4 +30,31 @@ class IndicoConfigurationTest {
         configuration.setApiSecret(new GuardedString("secret".toCharArray()));
         assertDoesNotThrow(configuration::validate);
     }
+
+    @Test
+    void enabledCircuitBreakerRequiresOpenSeconds() {
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setServiceAddress("https://example.test");
+        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.TOKEN);
+        configuration.setApiToken(new GuardedString("token".toCharArray()));
+        configuration.setCircuitBreakerOpenSeconds(null);
+        assertThrows(IllegalArgumentException.class, configuration::validate);
+        configuration.setCircuitBreakerFailureThreshold(0);
+        assertDoesNotThrow(configuration::validate);
+    }
+
+    @Test
+    void eventIdsAcceptListsAndRanges() {
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setServiceAddress("https://example.test");
+        configuration.setApiToken(new GuardedString("token".toCharArray()));
+        configuration.setEventIds(new String[]{"10, 12-14", "10"});
+        assertDoesNotThrow(configuration::validate);
+        assertEquals(List.of(10L, 12L, 13L, 14L), configuration.configuredEventIds());
+
+        configuration.setEventIds(new String[]{"14-12"});
+        assertThrows(IllegalArgumentException.class, configuration::validate);
+        configuration.setEventIds(new String[]{"abc"});
+        assertThrows(IllegalArgumentException.class, configuration::validate);
+    }
 }
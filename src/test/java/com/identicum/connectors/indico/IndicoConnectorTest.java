@@ -1,24 +1,37 @@
 package com.identicum.connectors.indico;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.identicum.connectors.indico.http.IndicoHttpClient;
 import com.identicum.connectors.indico.mapper.RegistrationMapper;
+import com.identicum.connectors.indico.model.EventSummary;
 import com.identicum.connectors.indico.model.RegistrationPage;
 import com.identicum.connectors.indico.model.RegistrationRecord;
+import com.identicum.connectors.indico.service.CategoryEventService;
 import com.identicum.connectors.indico.service.RegistrationQuery;
 import com.identicum.connectors.indico.service.RegistrationService;
 import java.util.ArrayList;
 import java.util.List;
 import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
 import org.identityconnectors.framework.common.exceptions.UnknownUidException;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.OperationOptionsBuilder;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.spi.SyncTokenResultsHandler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -72,6 +85,127 @@ class IndicoConnectorTest {
         assertEquals(1L, captor.getAllValues().get(0).getEventId());
     }
 
+    @Test
+    void executeQueryWithPrefetchKeepsPageOrder() {
+        connector.getConfiguration().setPrefetchDepth(2);
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class)))
+                .thenReturn(firstPage())
+                .thenReturn(secondPage());
+
+        List<ConnectorObject> results = new ArrayList<>();
+        connector.executeQuery(ObjectClass.ACCOUNT, null, results::add, new OperationOptionsBuilder().build());
+        connector.dispose();
+
+        assertEquals(3, results.size());
+        assertEquals("R1", results.get(0).getUid().getUidValue());
+        assertEquals("R3", results.get(2).getUid().getUidValue());
+    }
+
+    @Test
+    void executeQueryWithPrefetchStopsWhenHandlerDeclines() {
+        connector.getConfiguration().setPrefetchDepth(1);
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class))).thenReturn(firstPage());
+
+        List<ConnectorObject> results = new ArrayList<>();
+        connector.executeQuery(ObjectClass.ACCOUNT, null, obj -> results.add(obj) && results.size() < 3,
+                new OperationOptionsBuilder().build());
+        connector.dispose();
+
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    void executeQueryStreamsHealthyEventsThenFailsNamingTheFailedOne() {
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class))).thenAnswer(invocation -> {
+            RegistrationQuery query = invocation.getArgument(0);
+            if (query.getEventId() == 3L) {
+                throw new ConnectorIOException("event 3 unavailable");
+            }
+            RegistrationRecord record = new RegistrationRecord();
+            record.setRegistrationId("E" + query.getEventId());
+            record.setEventId(query.getEventId());
+            return new RegistrationPage(List.of(record), null);
+        });
+
+        List<ConnectorObject> results = java.util.Collections.synchronizedList(new ArrayList<>());
+        ConnectorIOException failure = assertThrows(ConnectorIOException.class,
+                () -> connector.executeQuery(ObjectClass.ACCOUNT, null, results::add, new OperationOptionsBuilder()
+                        .setOption("eventIds", new String[]{"2-4"})
+                        .build()));
+        connector.dispose();
+
+        List<String> uids = new ArrayList<>();
+        results.forEach(obj -> uids.add(obj.getUid().getUidValue()));
+        java.util.Collections.sort(uids);
+        assertEquals(List.of("E2", "E4"), uids);
+        assertEquals("Could not fetch the registrants of 1 of 3 events: 3 (event 3 unavailable)", failure.getMessage());
+    }
+
+    @Test
+    void executeQueryFailsWhenEveryEventFails() {
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class)))
+                .thenThrow(new ConnectorIOException("down"));
+        connector.getConfiguration().setEventIds(new String[]{"5", "6"});
+
+        assertThrows(ConnectorIOException.class,
+                () -> connector.executeQuery(ObjectClass.ACCOUNT, null, obj -> true, new OperationOptionsBuilder().build()));
+        connector.dispose();
+    }
+
+    @Test
+    void executeQueryByCategoryFillsCategoryPath() throws Exception {
+        CategoryEventService categoryEventService = mock(CategoryEventService.class);
+        when(categoryEventService.listEvents(9L)).thenReturn(List.of(new EventSummary(1L, "Event", "Physics", null)));
+        java.lang.reflect.Field categoryField = IndicoConnector.class.getDeclaredField("categoryEventService");
+        categoryField.setAccessible(true);
+        categoryField.set(connector, categoryEventService);
+        RegistrationPage page = secondPage();
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class))).thenReturn(page);
+
+        List<ConnectorObject> results = new ArrayList<>();
+        connector.executeQuery(ObjectClass.ACCOUNT, null, results::add,
+                new OperationOptionsBuilder().setOption("categoryId", 9L).build());
+
+        assertEquals(1, results.size());
+        assertEquals("Physics", results.get(0).getAttributeByName("categoryPath").getValue().get(0));
+        assertNull(page.getRecords().get(0).getCategoryPath(), "cached records must not be modified");
+    }
+
+    @Test
+    void syncReportsModifiedNewAndDeletedRegistrations() {
+        connector.getConfiguration().setDefaultEventId(42L);
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class)))
+                .thenReturn(new RegistrationPage(List.of(
+                        record("S1", 42L, "2024-01-01T10:00:00"),
+                        record("S2", 42L, "2024-01-02T10:00:00")), null))
+                .thenReturn(new RegistrationPage(List.of(
+                        record("S1", 42L, "2024-01-05T10:00:00"),
+                        record("S3", 42L, "2024-01-01T09:00:00")), null));
+
+        SyncToken token = connector.getLatestSyncToken(ObjectClass.ACCOUNT);
+
+        List<SyncDelta> deltas = new ArrayList<>();
+        SyncToken[] latest = new SyncToken[1];
+        connector.sync(ObjectClass.ACCOUNT, token, new SyncTokenResultsHandler() {
+            @Override
+            public boolean handle(SyncDelta delta) {
+                return deltas.add(delta);
+            }
+
+            @Override
+            public void handleResult(SyncToken result) {
+                latest[0] = result;
+            }
+        }, new OperationOptionsBuilder().build());
+
+        assertEquals(3, deltas.size());
+        assertEquals("S1", deltas.get(0).getUid().getUidValue());
+        assertEquals("S3", deltas.get(1).getUid().getUidValue());
+        assertEquals(SyncDeltaType.DELETE, deltas.get(2).getDeltaType());
+        assertEquals("S2", deltas.get(2).getUid().getUidValue());
+        assertEquals("v1;42=2024-01-05T10%3A00%3A00", latest[0].getValue());
+    }
+
     @Test
     void executeQueryByUidThrowsUnknownWhenMissing() {
         when(registrationService.fetchRegistrations(any(RegistrationQuery.class)))
@@ -84,6 +218,72 @@ class IndicoConnectorTest {
                 () -> connector.executeQuery(ObjectClass.ACCOUNT, filter, obj -> true, new OperationOptionsBuilder().build()));
     }
 
+    @Test
+    void replicaModeAnswersRepeatedLookupsFromMemory() {
+        connector.getConfiguration().setReplicaRefreshSeconds(600);
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class)))
+                .thenReturn(new RegistrationPage(List.of(record("P1", 77L, null), record("P2", 77L, null)), null));
+        IndicoFilter filter = new IndicoFilter();
+        filter.setEventId(77L);
+        filter.setRegistrationId("P2");
+
+        List<ConnectorObject> results = new ArrayList<>();
+        connector.executeQuery(ObjectClass.ACCOUNT, filter, results::add, new OperationOptionsBuilder().build());
+        connector.executeQuery(ObjectClass.ACCOUNT, filter, results::add, new OperationOptionsBuilder().build());
+        connector.dispose();
+
+        assertEquals(2, results.size());
+        assertEquals("P2", results.get(1).getUid().getUidValue());
+        verify(registrationService, Mockito.times(1)).fetchRegistrations(any(RegistrationQuery.class));
+    }
+
+    @Test
+    void executeQueryMapsOnlyRecordsMatchingTheCompiledFilter() throws Exception {
+        RegistrationMapper spyMapper = Mockito.spy(new RegistrationMapper());
+        java.lang.reflect.Field mapperField = IndicoConnector.class.getDeclaredField("registrationMapper");
+        mapperField.setAccessible(true);
+        mapperField.set(connector, spyMapper);
+        RegistrationRecord withdrawn = record("W1", 1L, null);
+        withdrawn.setState("withdrawn");
+        RegistrationRecord complete = record("C1", 1L, null);
+        complete.setState("complete");
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class)))
+                .thenReturn(new RegistrationPage(List.of(withdrawn, complete), null));
+        List<IndicoFilter> filters = new IndicoFilterTranslator().translate(
+                org.identityconnectors.framework.common.objects.filter.FilterBuilder.startsWith(
+                        org.identityconnectors.framework.common.objects.AttributeBuilder.build("state", "comp")));
+
+        List<ConnectorObject> results = new ArrayList<>();
+        connector.executeQuery(ObjectClass.ACCOUNT, filters.get(0), results::add, new OperationOptionsBuilder().build());
+
+        assertEquals(1, results.size());
+        assertEquals("C1", results.get(0).getUid().getUidValue());
+        verify(spyMapper, Mockito.times(1)).toConnectorObject(any(RegistrationRecord.class), any());
+    }
+
+    @Test
+    void executeQueryReturnsOnlyRequestedAttributes() {
+        when(registrationService.fetchRegistrations(any(RegistrationQuery.class))).thenReturn(secondPage());
+
+        List<ConnectorObject> results = new ArrayList<>();
+        connector.executeQuery(ObjectClass.ACCOUNT, null, results::add,
+                new OperationOptionsBuilder().setAttributesToGet("email").build());
+
+        assertEquals(3, results.get(0).getAttributes().size());
+        assertEquals("carol@example.org", results.get(0).getAttributeByName("email").getValue().get(0));
+        ArgumentCaptor<RegistrationQuery> captor = ArgumentCaptor.forClass(RegistrationQuery.class);
+        verify(registrationService).fetchRegistrations(captor.capture());
+        assertEquals(false, captor.getValue().getPlan().parses(com.identicum.connectors.indico.mapper.RecordAttribute.PAID));
+    }
+
+    private RegistrationRecord record(String id, long eventId, String modified) {
+        RegistrationRecord record = new RegistrationRecord();
+        record.setRegistrationId(id);
+        record.setEventId(eventId);
+        record.setModifiedDate(modified);
+        return record;
+    }
+
     private RegistrationPage firstPage() {
         RegistrationRecord r1 = new RegistrationRecord();
         r1.setRegistrationId("R1");
@@ -105,4 +305,27 @@ class IndicoConnectorTest {
         r3.setEventId(1L);
         return new RegistrationPage(List.of(r3), null);
     }
+
+    @Test
+    void checkAliveSkipsTheNetworkAfterARecentSuccess() throws Exception {
+        IndicoHttpClient httpClient = mock(IndicoHttpClient.class);
+        java.lang.reflect.Field clientField = IndicoConnector.class.getDeclaredField("httpClient");
+        clientField.setAccessible(true);
+        clientField.set(connector, httpClient);
+
+        when(httpClient.millisSinceLastSuccess()).thenReturn(1_000L);
+        connector.checkAlive();
+        verify(httpClient, never()).get(anyString(), any());
+
+        when(httpClient.millisSinceLastSuccess()).thenReturn(Long.MAX_VALUE);
+        connector.checkAlive();
+        verify(httpClient).get(eq("/export/categories.json"), any());
+    }
+
+    @Test
+    void disposedConnectorIsNotAlive() {
+        connector.dispose();
+
+        assertThrows(ConnectorException.class, connector::checkAlive);
+    }
 }
@@ -0,0 +1,137 @@
+package com.identicum.connectors.indico;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.identicum.connectors.indico.mapper.RecordAttribute;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.List;
+import java.util.Set;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+import org.identityconnectors.framework.common.objects.filter.FilterBuilder;
+import org.junit.jupiter.api.Test;
+
+class IndicoFilterTranslatorTest {
+
+    private final IndicoFilterTranslator translator = new IndicoFilterTranslator();
+
+    @Test
+    void pushesDownEqualityAndCompilesDateRange() {
+        Filter filter = FilterBuilder.and(
+                FilterBuilder.equalTo(AttributeBuilder.build("email", "Alice@example.org")),
+                FilterBuilder.greaterThan(AttributeBuilder.build("modifiedDt", "2024-01-01T00:00:00")));
+
+        IndicoFilter translated = single(filter);
+
+        assertEquals("Alice@example.org", translated.getEmail());
+        assertTrue(translated.matches(record("R1", 1L, "alice@example.org", "complete", true, "2024-02-01T10:00:00+00:00")));
+        assertFalse(translated.matches(record("R1", 1L, "alice@example.org", "complete", true, "2023-12-31T23:00:00Z")));
+        assertFalse(translated.matches(record("R2", 1L, "bob@example.org", "complete", true, "2024-02-01T10:00:00Z")));
+    }
+
+    @Test
+    void combinesEventScopesOfDisjunctions() {
+        Filter filter = FilterBuilder.or(
+                FilterBuilder.equalTo(AttributeBuilder.build("eventId", 5L)),
+                FilterBuilder.and(
+                        FilterBuilder.equalTo(AttributeBuilder.build("eventId", "6")),
+                        FilterBuilder.equalTo(AttributeBuilder.build("paid", Boolean.TRUE))));
+
+        IndicoFilter translated = single(filter);
+
+        assertEquals(Set.of(5L, 6L), translated.getEventIds());
+        assertNull(translated.getEventId());
+        assertTrue(translated.matches(record("A", 5L, null, null, false, null)));
+        assertTrue(translated.matches(record("B", 6L, null, null, true, null)));
+        assertFalse(translated.matches(record("C", 6L, null, null, false, null)));
+    }
+
+    @Test
+    void negatesWithoutPushingDown() {
+        Filter filter = FilterBuilder.and(
+                FilterBuilder.not(FilterBuilder.equalTo(AttributeBuilder.build("state", "withdrawn"))),
+                FilterBuilder.or(
+                        FilterBuilder.startsWith(AttributeBuilder.build(Uid.NAME, "R")),
+                        FilterBuilder.not(FilterBuilder.equalTo(new Uid("X1")))));
+
+        IndicoFilter translated = single(filter);
+
+        assertNull(translated.getRegistrationId());
+        assertTrue(translated.matches(record("R1", 1L, null, "complete", false, null)));
+        assertFalse(translated.matches(record("R2", 1L, null, "withdrawn", false, null)));
+        assertFalse(translated.matches(record("X1", 1L, null, "complete", false, null)));
+    }
+
+    @Test
+    void keepsStateFlagAndDateBoundsForReplicaIndexes() {
+        Filter filter = FilterBuilder.and(
+                FilterBuilder.and(
+                        FilterBuilder.equalTo(AttributeBuilder.build("state", "complete")),
+                        FilterBuilder.equalTo(AttributeBuilder.build("paid", Boolean.TRUE))),
+                FilterBuilder.and(
+                        FilterBuilder.greaterThanOrEqualTo(AttributeBuilder.build("createdDt", "2024-01-01T00:00:00")),
+                        FilterBuilder.lessThan(AttributeBuilder.build("createdDt", "2024-02-01T00:00:00"))));
+
+        IndicoFilter translated = single(filter);
+
+        assertEquals("complete", translated.getState());
+        assertEquals(Boolean.TRUE, translated.getPaid());
+        assertNull(translated.getCheckedIn());
+        IndicoFilter.DateRange range = translated.getDateRange();
+        assertEquals(RecordAttribute.CREATED_DT, range.getAttribute());
+        assertEquals("2024-01-01T00:00:00", range.getFrom());
+        assertTrue(range.isFromInclusive());
+        assertEquals("2024-02-01T00:00:00", range.getTo());
+        assertFalse(range.isToInclusive());
+    }
+
+    @Test
+    void negatedAndDisjunctiveConditionsKeepNoIndexHints() {
+        IndicoFilter negated = single(FilterBuilder.and(
+                FilterBuilder.not(FilterBuilder.equalTo(AttributeBuilder.build("state", "withdrawn"))),
+                FilterBuilder.not(FilterBuilder.greaterThan(AttributeBuilder.build("modifiedDt", "2024-01-01")))));
+        IndicoFilter disjunction = single(FilterBuilder.or(
+                FilterBuilder.equalTo(AttributeBuilder.build("state", "complete")),
+                FilterBuilder.equalTo(AttributeBuilder.build("checkedIn", Boolean.TRUE))));
+
+        assertNull(negated.getState());
+        assertNull(negated.getDateRange());
+        assertNull(disjunction.getState());
+        assertNull(disjunction.getCheckedIn());
+    }
+
+    @Test
+    void describesShapeWithoutValues() {
+        Filter filter = FilterBuilder.and(
+                FilterBuilder.not(FilterBuilder.equalTo(AttributeBuilder.build("state", "withdrawn"))),
+                FilterBuilder.or(
+                        FilterBuilder.startsWith(AttributeBuilder.build("email", "alice")),
+                        FilterBuilder.greaterThan(AttributeBuilder.build("modifiedDt", "2024-01-01T00:00:00"))));
+
+        String shape = single(filter).getShape();
+
+        assertEquals("AND(NOT(EQ(state)), OR(STARTS_WITH(email), GT(modifiedDt)))", shape);
+        assertFalse(shape.contains("alice"));
+    }
+
+    private IndicoFilter single(Filter filter) {
+        List<IndicoFilter> translated = translator.translate(filter);
+        assertEquals(1, translated.size());
+        return translated.get(0);
+    }
+
+    private static RegistrationRecord record(String id, Long eventId, String email, String state, boolean paid, String modified) {
+        RegistrationRecord record = new RegistrationRecord();
+        record.setRegistrationId(id);
+        record.setEventId(eventId);
+        record.setEmail(email);
+        record.setState(state);
+        record.setPaid(paid);
+        record.setModifiedDate(modified);
+        return record;
+    }
+}
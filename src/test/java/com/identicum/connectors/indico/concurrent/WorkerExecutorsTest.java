@@ -0,0 +1,54 @@
+package com.identicum.connectors.indico.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+class WorkerExecutorsTest {
+
+    @Test
+    void platformPoolIsBoundedAndUsesDaemonThreads() throws Exception {
+        ExecutorService executor = WorkerExecutors.bounded("test-pool", 3, false);
+        try {
+            assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertTrue(thread.isDaemon());
+            assertTrue(thread.getName().startsWith("test-pool-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void virtualRequestRunsTasksOnEveryJavaVersion() throws Exception {
+        ExecutorService executor = WorkerExecutors.unbounded("test-virtual", true);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertTrue(thread.getName().startsWith("test-virtual-"));
+            if (!WorkerExecutors.virtualThreadsAvailable()) {
+                assertTrue(thread.isDaemon());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "indico.expectJava21Layer", matches = "true")
+    void java21LayerOfTheJarRunsVirtualThreads() throws Exception {
+        ExecutorService executor = WorkerExecutors.bounded("test-layer", 1, true);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertTrue(WorkerExecutors.virtualThreadsAvailable());
+            // Thread.isVirtual() is Java 21 API; the tests compile for Java 11.
+            assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(thread));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.identicum.connectors.indico.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("http://indico.test", 3, 1_000L);
+
+        breaker.onFailure(0L);
+        breaker.onFailure(0L);
+        breaker.onSuccess();
+        breaker.onFailure(0L);
+        breaker.onFailure(0L);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure(0L);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest(SECOND / 2));
+    }
+
+    @Test
+    void halfOpenLetsOneProbeThroughAndClosesOnSuccess() {
+        CircuitBreaker breaker = new CircuitBreaker("http://indico.test", 1, 1_000L);
+        breaker.onFailure(0L);
+
+        assertTrue(breaker.allowRequest(SECOND));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest(SECOND + 1));
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest(SECOND + 2));
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() {
+        CircuitBreaker breaker = new CircuitBreaker("http://indico.test", 1, 1_000L);
+        breaker.onFailure(0L);
+        assertTrue(breaker.allowRequest(SECOND));
+
+        breaker.onFailure(SECOND);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest(SECOND + SECOND / 2));
+        assertTrue(breaker.allowRequest(2 * SECOND));
+    }
+
+    @Test
+    void lostProbeIsReplacedAfterTheOpenInterval() {
+        CircuitBreaker breaker = new CircuitBreaker("http://indico.test", 1, 1_000L);
+        breaker.onFailure(0L);
+        assertTrue(breaker.allowRequest(SECOND));
+
+        assertTrue(breaker.allowRequest(2 * SECOND));
+    }
+}
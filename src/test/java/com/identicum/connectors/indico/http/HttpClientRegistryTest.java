@@ -0,0 +1,54 @@
+package com.identicum.connectors.indico.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.identicum.connectors.indico.IndicoConfiguration;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+
+class HttpClientRegistryTest {
+
+    private final HttpClientRegistry registry = new HttpClientRegistry();
+
+    @Test
+    void sameSettingsShareOneClient() {
+        HttpClientRegistry.Lease first = registry.acquire(URI.create("https://indico.test/"), configuration(1_000));
+        HttpClientRegistry.Lease second = registry.acquire(URI.create("https://indico.test/other/"), configuration(1_000));
+
+        assertSame(first.client(), second.client());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void differentSettingsGetSeparateClients() {
+        HttpClientRegistry.Lease first = registry.acquire(URI.create("https://indico.test/"), configuration(1_000));
+        HttpClientRegistry.Lease second = registry.acquire(URI.create("https://indico.test/"), configuration(2_000));
+        HttpClientRegistry.Lease third = registry.acquire(URI.create("https://other.test/"), configuration(1_000));
+
+        assertNotSame(first.client(), second.client());
+        assertNotSame(first.client(), third.client());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void lastReleaseDropsTheClientAndReleaseIsIdempotent() {
+        HttpClientRegistry.Lease first = registry.acquire(URI.create("https://indico.test/"), configuration(1_000));
+        HttpClientRegistry.Lease second = registry.acquire(URI.create("https://indico.test/"), configuration(1_000));
+
+        first.release();
+        first.release();
+        assertEquals(1, registry.size());
+
+        second.release();
+        assertEquals(0, registry.size());
+        assertNotSame(first.client(), registry.acquire(URI.create("https://indico.test/"), configuration(1_000)).client());
+    }
+
+    private static IndicoConfiguration configuration(int connectTimeoutMs) {
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setConnectTimeoutMs(connectTimeoutMs);
+        return configuration;
+    }
+}
@@ -1,51 +1,93 @@
 package com.identicum.connectors.indico.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.headRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.Response;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
-import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import com.identicum.connectors.indico.IndicoAuthenticator;
 import com.identicum.connectors.indico.IndicoConfiguration;
+import com.identicum.connectors.indico.metrics.SearchTrace;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
 import org.identityconnectors.framework.common.exceptions.ConnectorSecurityException;
 import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 
 class IndicoHttpClientTest {
 
     @RegisterExtension
     static WireMockExtension server = WireMockExtension.newInstance()
-            .options(wireMockConfig().dynamicPort())
+            .options(wireMockConfig().dynamicPort().extensions(new DeleteFile()))
             .configureStaticDsl(true)
             .build();
 
+    private final List<IndicoHttpClient> clients = new ArrayList<>();
     private IndicoHttpClient client;
 
     @BeforeEach
-    void setup(WireMockRuntimeInfo runtimeInfo) {
-        IndicoConfiguration configuration = new IndicoConfiguration();
-        configuration.setServiceAddress(runtimeInfo.getHttpBaseUrl());
-        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.TOKEN);
-        configuration.setApiToken(new GuardedString("token".toCharArray()));
-        configuration.setRetryMax(2);
-        configuration.setRetryBackoffBaseMs(1L);
-        configuration.setConnectTimeoutMs(1_000);
-        configuration.setReadTimeoutMs(1_000);
-        configuration.validate();
-        IndicoAuthenticator authenticator = new IndicoAuthenticator(configuration);
-        client = new IndicoHttpClient(configuration, authenticator);
+    void setup() {
+        client = open(configuration());
+    }
+
+    @AfterEach
+    void closeClients() {
+        // Every client holds a lease on the shared HTTP client registry.
+        clients.forEach(IndicoHttpClient::close);
     }
 
     @Test
@@ -54,28 +96,70 @@ class IndicoHttpClientTest {
                 .withHeader("Authorization", equalTo("Bearer token"))
                 .willReturn(ok().withBody("{}")));
 
-        String body = client.get("/export/categories.json", java.util.Map.of("limit", "1"));
+        String body = client.get("/export/categories.json", Map.of("limit", "1"));
         assertEquals("{}", body);
     }
 
+    @Test
+    void responsesAreRecordedInTheServerMetrics() {
+        stubFor(get(urlEqualTo("/export/registrants/3.json"))
+                .willReturn(ok().withBody("{\"registrants\": []}")));
+        long requests = client.getMetrics().getRequestCount();
+        long ok = client.getMetrics().getStatus2xxCount();
+        long bytes = client.getMetrics().getBytesReceived();
+
+        client.get("/export/registrants/3.json", Map.of());
+
+        assertEquals(requests + 1, client.getMetrics().getRequestCount());
+        assertEquals(ok + 1, client.getMetrics().getStatus2xxCount());
+        // Bytes are counted as received, before decompression.
+        assertTrue(client.getMetrics().getBytesReceived() > bytes);
+    }
+
+    @Test
+    void getStreamsBodyToReader() {
+        stubFor(get(urlEqualTo("/export/registrants/1.json"))
+                .willReturn(ok().withBody("{\"registrants\": [{\"id\": \"R1\"}]}")));
+
+        Integer firstByte = client.get("/export/registrants/1.json", Map.of(), InputStream::read);
+        assertEquals((int) '{', firstByte);
+    }
+
+    @Test
+    void getDecompressesGzipResponses() throws IOException {
+        stubFor(get(urlEqualTo("/export/registrants/2.json"))
+                .withHeader("Accept-Encoding", containing("gzip"))
+                .willReturn(ok()
+                        .withHeader("Content-Encoding", "gzip")
+                        .withBody(gzip("{\"registrants\": []}"))));
+
+        assertEquals("{\"registrants\": []}", client.get("/export/registrants/2.json", Map.of()));
+    }
+
+    @Test
+    void deflateDecodingAcceptsZlibAndRawStreams() throws IOException {
+        byte[] payload = "{\"rows\": []}".getBytes(StandardCharsets.UTF_8);
+        for (boolean raw : new boolean[]{false, true}) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed,
+                    new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+                deflate.write(payload);
+            }
+            InputStream decoded = ContentEncodings.decode(new ByteArrayInputStream(compressed.toByteArray()), "deflate");
+            assertEquals("{\"rows\": []}", new String(decoded.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
     @Test
     void unauthorizedThrowsSecurityException() {
         stubFor(get(urlEqualTo("/export/categories.json?limit=1"))
                 .willReturn(aResponse().withStatus(401)));
-
-        IndicoConfiguration configuration = new IndicoConfiguration();
-        configuration.setServiceAddress(server.getRuntimeInfo().getHttpBaseUrl());
-        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.TOKEN);
-        configuration.setApiToken(new GuardedString("token".toCharArray()));
+        IndicoConfiguration configuration = configuration();
         configuration.setRetryMax(0);
-        configuration.setRetryBackoffBaseMs(1L);
-        configuration.setConnectTimeoutMs(1_000);
-        configuration.setReadTimeoutMs(1_000);
-        configuration.validate();
-        IndicoHttpClient localClient = new IndicoHttpClient(configuration, new IndicoAuthenticator(configuration));
+        IndicoHttpClient localClient = open(configuration);
 
         assertThrows(ConnectorSecurityException.class,
-                () -> localClient.get("/export/categories.json", java.util.Map.of("limit", "1")));
+                () -> localClient.get("/export/categories.json", Map.of("limit", "1")));
     }
 
     @Test
@@ -84,42 +168,361 @@ class IndicoHttpClientTest {
                 .willReturn(aResponse().withStatus(404)));
 
         assertThrows(UnknownUidException.class,
-                () -> client.get("/export/registrants/1.json", java.util.Map.of("registration_id", "missing")));
+                () -> client.get("/export/registrants/1.json", Map.of("registration_id", "missing")));
     }
 
     @Test
     void retriesOnServerErrorThenSucceeds() {
-        stubFor(get(urlEqualTo("/export/registrants/1.json"))
-                .inScenario("retry")
-                .whenScenarioStateIs(com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED)
-                .willReturn(serverError())
-                .willSetStateTo("second"));
-        stubFor(get(urlEqualTo("/export/registrants/1.json"))
-                .inScenario("retry")
-                .whenScenarioStateIs("second")
-                .willReturn(ok().withBody("{\"registrants\": []}")));
+        stubFailureThenSuccess("retry", "/export/registrants/1.json", serverError(), "{\"registrants\": []}");
 
-        String response = client.get("/export/registrants/1.json", java.util.Map.of());
+        String response = client.get("/export/registrants/1.json", Map.of());
         assertEquals("{\"registrants\": []}", response);
     }
 
+    @Test
+    void reportsRetriesAndParsingToSearchTrace() {
+        stubFailureThenSuccess("traced", "/export/registrants/9.json", serverError(), "{}");
+        SearchTrace trace = new SearchTrace();
+
+        String body = client.get("/export/registrants/9.json", Map.of(), Map.of(), stream -> {
+            byte[] bytes = stream.readAllBytes();
+            try {
+                Thread.sleep(100L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }, trace);
+
+        assertEquals("{}", body);
+        assertEquals(1L, trace.retries());
+        Matcher parse = Pattern.compile("parse=(\\d+)ms").matcher(trace.summary());
+        assertTrue(parse.find(), trace.summary());
+        assertTrue(Long.parseLong(parse.group(1)) >= 50L, trace.summary());
+    }
+
+    @Test
+    void emitsFlightRecorderEventPerAttempt() throws Exception {
+        stubFailureThenSuccess("recorded", "/export/registrants/10.json?limit=5", serverError(), "{\"results\": []}");
+        Path dump = Files.createTempFile("http-request", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.identicum.connectors.indico.HttpRequest");
+            recording.start();
+            client.get("/export/registrants/10.json", Map.of("limit", "5"));
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = new ArrayList<>(RecordingFile.readAllEvents(dump));
+        Files.delete(dump);
+        events.sort(Comparator.comparing(RecordedEvent::getStartTime));
+        assertEquals(2, events.size());
+        assertEquals("/export/registrants/10.json", events.get(0).getString("path"));
+        assertEquals(List.of(500, 200), List.of(events.get(0).getInt("status"), events.get(1).getInt("status")));
+        assertEquals(2, events.get(1).getInt("attempt"));
+        assertTrue(events.get(1).getLong("bytes") > 0L);
+    }
+
+    @Test
+    void throttledResponseHonoursRetryAfterAndLowersRate() {
+        stubFailureThenSuccess("throttle", "/export/registrants/5.json",
+                aResponse().withStatus(429).withHeader("Retry-After", "1"), "{}");
+        IndicoConfiguration configuration = configuration();
+        configuration.setMaxRequestsPerSecond(50);
+        IndicoHttpClient pacedClient = open(configuration);
+
+        long start = System.nanoTime();
+        assertEquals("{}", pacedClient.get("/export/registrants/5.json", Map.of()));
+
+        assertTrue(System.nanoTime() - start >= 900_000_000L);
+        assertTrue(pacedClient.currentRequestRate() < 50.0);
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingIndico() {
+        stubFor(get(urlEqualTo("/export/registrants/6.json"))
+                .willReturn(serverError()));
+        IndicoConfiguration configuration = configuration();
+        // A distinct address keeps the shared breaker of the other tests closed.
+        configuration.setServiceAddress("http://127.0.0.1:" + server.getRuntimeInfo().getHttpPort());
+        configuration.setRetryMax(3);
+        configuration.setCircuitBreakerFailureThreshold(2);
+        configuration.setCircuitBreakerOpenSeconds(60);
+        IndicoHttpClient localClient = open(configuration);
+
+        ConnectorIOException first = assertThrows(ConnectorIOException.class,
+                () -> localClient.get("/export/registrants/6.json", Map.of()));
+        ConnectorIOException second = assertThrows(ConnectorIOException.class,
+                () -> localClient.get("/export/registrants/6.json", Map.of()));
+
+        assertTrue(first.getMessage().contains("is open"));
+        assertTrue(second.getMessage().contains("is open"));
+        assertEquals(CircuitBreaker.State.OPEN, localClient.circuitState());
+        server.verify(2, getRequestedFor(urlEqualTo("/export/registrants/6.json")));
+    }
+
+    @Test
+    void prewarmOpensTheConnectionOncePerSharedClient() throws InterruptedException {
+        stubFor(head(anyUrl()).willReturn(ok()));
+
+        client.prewarm();
+        client.prewarm();
+
+        long deadline = System.currentTimeMillis() + 5_000L;
+        while (server.findAll(headRequestedFor(anyUrl())).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        server.verify(1, headRequestedFor(anyUrl()));
+    }
+
+    @Test
+    void getAsyncRetriesAndTranslatesErrors() throws Exception {
+        stubFailureThenSuccess("async", "/export/registrants/7.json", serverError(), "{}");
+        stubFor(get(urlEqualTo("/export/registrants/8.json"))
+                .willReturn(aResponse().withStatus(404)));
+
+        byte[] body = client.getAsync("/export/registrants/7.json", Map.of(), Map.of(), InputStream::readAllBytes)
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("{}", new String(body, StandardCharsets.UTF_8));
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> client.getAsync("/export/registrants/8.json", Map.of(), Map.of(), InputStream::readAllBytes)
+                        .get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof UnknownUidException);
+    }
+
+    @Test
+    void getAsyncStreamsTheBodyIntoTheReaderOnTheParsePool() throws Exception {
+        stubFor(get(urlEqualTo("/export/registrants/9.json"))
+                .willReturn(ok().withHeader("Content-Encoding", "gzip").withBody(gzip("{\"registrants\": []}"))));
+
+        String[] readerThread = new String[1];
+        String body = client.getAsync("/export/registrants/9.json", Map.of(), Map.of(), in -> {
+            readerThread[0] = Thread.currentThread().getName();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals("{\"registrants\": []}", body);
+        assertTrue(readerThread[0].startsWith("indico-parse-"), readerThread[0]);
+    }
+
     @Test
     void exhaustsRetriesAndThrowsIoException() {
         stubFor(get(urlEqualTo("/export/registrants/1.json"))
                 .willReturn(serverError()));
+        IndicoConfiguration configuration = configuration();
+        configuration.setRetryMax(0);
+        IndicoHttpClient localClient = open(configuration);
+
+        assertThrows(ConnectorIOException.class,
+                () -> localClient.get("/export/registrants/1.json", Map.of()));
+    }
+
+    @Test
+    void revalidatesWithEtagAndServesNotModifiedFromDiskCache(@TempDir Path directory) {
+        stubFor(get(urlEqualTo("/export/registrants/3.json"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(ok().withHeader("ETag", "\"v1\"").withBody("{\"registrants\": [{\"id\": \"R3\"}]}\n")));
+        stubFor(get(urlEqualTo("/export/registrants/3.json"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+        IndicoConfiguration configuration = cachingConfiguration(directory);
+
+        String first = open(configuration).get("/export/registrants/3.json", Map.of());
+        // A fresh client stands in for a restart; the entry is read back from disk.
+        String second = open(configuration).get("/export/registrants/3.json", Map.of());
+
+        assertEquals(first, second);
+        server.verify(1, getRequestedFor(urlEqualTo("/export/registrants/3.json"))
+                .withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    void notModifiedWithGzipEncodingAndEmptyBodyIsServedFromCache(@TempDir Path directory) throws Exception {
+        stubFor(get(urlEqualTo("/export/registrants/4.json"))
+                .withHeader("If-None-Match", absent())
+                .willReturn(ok().withHeader("ETag", "\"v1\"").withHeader("Content-Encoding", "gzip")
+                        .withBody(gzip("{\"registrants\": [{\"id\": \"R4\"}]}"))));
+        stubFor(get(urlEqualTo("/export/registrants/4.json"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304).withHeader("Content-Encoding", "gzip")));
+        IndicoHttpClient cachingClient = open(cachingConfiguration(directory));
+
+        String first = cachingClient.get("/export/registrants/4.json", Map.of());
+        String second = cachingClient.get("/export/registrants/4.json", Map.of());
+        String third = cachingClient.getAsync("/export/registrants/4.json", Map.of(), Map.of(),
+                body -> new String(body.readAllBytes(), StandardCharsets.UTF_8)).get(5, TimeUnit.SECONDS);
+
+        assertEquals("{\"registrants\": [{\"id\": \"R4\"}]}", first);
+        assertEquals(first, second);
+        assertEquals(first, third);
+    }
+
+    @Test
+    void notModifiedWhoseCachedBodyWasEvictedIsRequestedAgainWithoutValidators(@TempDir Path directory)
+            throws Exception {
+        String url = "/export/registrants/6.json";
+        String payload = "{\"registrants\": [{\"id\": \"R6\"}]}";
+        stubFor(get(urlEqualTo(url))
+                .withHeader("If-None-Match", absent())
+                .willReturn(ok().withHeader("ETag", "\"v1\"").withBody(payload)));
+        // cachingConfiguration allows no retries: the repeat must not be paid for with one.
+        IndicoHttpClient cachingClient = open(cachingConfiguration(directory));
+        cachingClient.get(url, Map.of());
+        Path body = cachedBody(directory);
+        // The body disappears after the lookup, just before the 304 reaches the client.
+        stubFor(get(urlEqualTo(url))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)
+                        .withTransformers(DeleteFile.NAME)
+                        .withTransformerParameter("path", body.toString())));
+        long ioErrors = cachingClient.getMetrics().getIoErrorCount();
+
+        String blocking = cachingClient.get(url, Map.of());
+        String async = cachingClient.getAsync(url, Map.of(), Map.of(),
+                in -> new String(in.readAllBytes(), StandardCharsets.UTF_8)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(payload, blocking);
+        assertEquals(payload, async);
+        assertEquals(ioErrors, cachingClient.getMetrics().getIoErrorCount());
+        server.verify(2, getRequestedFor(urlEqualTo(url)).withHeader("If-None-Match", equalTo("\"v1\"")));
+        server.verify(3, getRequestedFor(urlEqualTo(url)).withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    void serverErrorWithUnsupportedEncodingReportsTheStatus() {
+        stubFor(get(urlEqualTo("/export/registrants/5.json"))
+                .willReturn(aResponse().withStatus(502).withHeader("Content-Encoding", "br").withBody("bad gateway")));
 
+        ConnectorIOException failure = assertThrows(ConnectorIOException.class,
+                () -> client.get("/export/registrants/5.json", Map.of()));
+
+        assertTrue(failure.getMessage().startsWith("HTTP 502"), failure.getMessage());
+        assertTrue(failure.getMessage().endsWith("bad gateway"), failure.getMessage());
+    }
+
+    @Test
+    void cacheKeyIgnoresVolatileAuthParameters() {
+        assertEquals(
+                DiskResponseCache.key("/export/event/1.json", Map.of("limit", "10", "timestamp", "1"), "f"),
+                DiskResponseCache.key("/export/event/1.json", Map.of("limit", "10", "signature", "x"), "f"));
+        assertNotEquals(
+                DiskResponseCache.key("/export/event/1.json", Map.of(), "f"),
+                DiskResponseCache.key("/export/event/1.json", Map.of(), "g"));
+    }
+
+    @Test
+    void templatedRequestsEncodeFixedAndPagingParametersAndSign() {
+        stubFor(get(urlPathEqualTo("/export/registrants/4.json"))
+                .withQueryParam("email", equalTo("a+b@example.org"))
+                .withQueryParam("limit", equalTo("5"))
+                .withQueryParam("apikey", equalTo("key"))
+                .withQueryParam("signature", matching(".+"))
+                .willReturn(ok().withBody("{}")));
+        IndicoConfiguration configuration = configuration();
+        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.API_KEY);
+        configuration.setApiKey("key");
+        configuration.setApiSecret(new GuardedString("secret".toCharArray()));
+        configuration.setRetryMax(0);
+        IndicoHttpClient localClient = open(configuration);
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("{}", localClient.get("export/registrants/4.json", Map.of("email", "a+b@example.org"),
+                    Map.of("limit", "5"), body -> new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+        assertSame(
+                localClient.template("/export/registrants/4.json", Map.of("email", "a+b@example.org")),
+                localClient.template("export/registrants/4.json", new HashMap<>(Map.of("email", "a+b@example.org"))));
+    }
+
+    /**
+     * Token authentication against the mock server with fast retries; tests adjust it before {@link #open}.
+     */
+    private static IndicoConfiguration configuration() {
         IndicoConfiguration configuration = new IndicoConfiguration();
         configuration.setServiceAddress(server.getRuntimeInfo().getHttpBaseUrl());
         configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.TOKEN);
         configuration.setApiToken(new GuardedString("token".toCharArray()));
-        configuration.setRetryMax(0);
+        configuration.setRetryMax(2);
         configuration.setRetryBackoffBaseMs(1L);
         configuration.setConnectTimeoutMs(1_000);
         configuration.setReadTimeoutMs(1_000);
+        return configuration;
+    }
+
+    private static IndicoConfiguration cachingConfiguration(Path directory) {
+        IndicoConfiguration configuration = configuration();
+        configuration.setRetryMax(0);
+        configuration.setResponseCacheDirectory(directory.toString());
+        return configuration;
+    }
+
+    /**
+     * Validates the configuration and opens a client that is closed after the test.
+     */
+    private IndicoHttpClient open(IndicoConfiguration configuration) {
         configuration.validate();
-        IndicoHttpClient localClient = new IndicoHttpClient(configuration, new IndicoAuthenticator(configuration));
+        IndicoHttpClient opened = new IndicoHttpClient(configuration, new IndicoAuthenticator(configuration));
+        clients.add(opened);
+        return opened;
+    }
 
-        assertThrows(ConnectorIOException.class,
-                () -> localClient.get("/export/registrants/1.json", java.util.Map.of()));
+    private static void stubFailureThenSuccess(String scenario, String url,
+                                               ResponseDefinitionBuilder failure,
+                                               String body) {
+        stubFor(get(urlEqualTo(url))
+                .inScenario(scenario)
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(failure)
+                .willSetStateTo("second"));
+        stubFor(get(urlEqualTo(url))
+                .inScenario(scenario)
+                .whenScenarioStateIs("second")
+                .willReturn(ok().withBody(body)));
+    }
+
+    private static Path cachedBody(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> bodies = files.filter(file -> file.toString().endsWith(".body")).collect(Collectors.toList());
+            assertEquals(1, bodies.size());
+            return bodies.get(0);
+        }
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Deletes the file named by the {@code path} transformer parameter while the response is being served, as a
+     * cache eviction racing the request would.
+     */
+    public static final class DeleteFile extends ResponseTransformer {
+
+        static final String NAME = "delete-file";
+
+        @Override
+        public Response transform(Request request, Response response, FileSource files, Parameters parameters) {
+            try {
+                Files.deleteIfExists(Path.of(parameters.getString("path")));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return response;
+        }
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public boolean applyGlobally() {
+            return false;
+        }
     }
 }
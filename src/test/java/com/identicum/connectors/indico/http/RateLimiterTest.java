@@ -0,0 +1,50 @@
+package com.identicum.connectors.indico.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void pacesRequestsAtTheConfiguredRate() {
+        RateLimiter limiter = new RateLimiter("http://indico.test", 10, 0L);
+
+        assertEquals(0L, limiter.reserve(0L));
+        assertEquals(SECOND / 10, limiter.reserve(0L));
+        assertEquals(2 * SECOND / 10, limiter.reserve(0L));
+    }
+
+    @Test
+    void throttlingHalvesTheRateAndPausesUntilRetryAfter() {
+        RateLimiter limiter = new RateLimiter("http://indico.test", 10, 0L);
+
+        limiter.onThrottled(2_000L, 0L);
+
+        assertEquals(5.0, limiter.currentRate(), 1e-9);
+        assertEquals(2 * SECOND, limiter.reserve(0L));
+    }
+
+    @Test
+    void successesRecoverTheRateUpToTheMaximum() {
+        RateLimiter limiter = new RateLimiter("http://indico.test", 10, 0L);
+        limiter.onThrottled(0L, 0L);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(7.0, limiter.currentRate(), 1e-9);
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(10.0, limiter.currentRate(), 1e-9);
+    }
+
+    @Test
+    void instancesAreSharedPerAddress() {
+        assertSame(RateLimiter.forAddress("http://shared.test", 5), RateLimiter.forAddress("http://shared.test", 5));
+    }
+}
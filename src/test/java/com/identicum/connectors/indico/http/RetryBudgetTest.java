@@ -0,0 +1,37 @@
+package com.identicum.connectors.indico.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    @Test
+    void reserveAllowsAFewRetriesOnAnIdleConnector() {
+        RetryBudget budget = new RetryBudget(20);
+
+        int retries = 0;
+        while (budget.tryRetry()) {
+            retries++;
+        }
+        assertEquals((int) RetryBudget.RESERVE, retries);
+    }
+
+    @Test
+    void retriesAreCappedAtThePercentageOfRequests() {
+        RetryBudget budget = new RetryBudget(20);
+        while (budget.tryRetry()) {
+            // spend the reserve
+        }
+
+        for (int i = 0; i < 4; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryRetry());
+        budget.onRequest();
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+}
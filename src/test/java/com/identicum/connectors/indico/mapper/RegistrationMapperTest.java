@@ -0,0 +1,149 @@
+package com.identicum.connectors.indico.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class RegistrationMapperTest {
+
+    private final RegistrationMapper mapper = new RegistrationMapper();
+
+    @Test
+    void mapPageReadsNestedPersonAndCategory() throws IOException {
+        String body = Files.readString(Path.of("src/test/resources/fixtures/registrations_page2.json"));
+
+        RegistrationPage page = mapper.mapPage(body, 7L);
+
+        assertEquals(2, page.getRecords().size());
+        RegistrationRecord bob = page.getRecords().get(0);
+        assertEquals("R2", bob.getRegistrationId());
+        assertEquals("Bob Builder", bob.getFullName());
+        assertEquals("Bob", bob.getFirstName());
+        assertEquals("Conference/Workshop", bob.getCategoryPath());
+        assertEquals(Boolean.TRUE, bob.getPaid());
+        assertEquals(7L, bob.getEventId());
+        assertFalse(page.hasNextPage());
+    }
+
+    @Test
+    void streamPageEmitsRecordsBeforeTrailingPaging() {
+        String body = "{\"paging\": {\"next\": {\"page\": 3}}, \"rows\": ["
+                + "{\"registration_id\": 11, \"event_id\": \"9\", \"person\": {\"email\": \"x@example.org\"}},"
+                + "null,"
+                + "{\"id\": \"12\", \"checked_in\": \"true\", \"extra\": {\"nested\": [1, 2]}}"
+                + "], \"next\": null}";
+        List<RegistrationRecord> records = new ArrayList<>();
+
+        String next = mapper.streamPage(body, 1L, records::add);
+
+        // A root "next": null marks the last page, whatever the paging block says.
+        assertNull(next);
+        assertEquals(2, records.size());
+        assertEquals("11", records.get(0).getRegistrationId());
+        assertEquals(9L, records.get(0).getEventId());
+        assertEquals("x@example.org", records.get(0).getEmail());
+        assertEquals(Boolean.TRUE, records.get(1).getCheckedIn());
+        assertEquals(1L, records.get(1).getEventId());
+    }
+
+    @Test
+    void streamPageResolvesTrailingPagingWhenRootNextIsAbsent() {
+        String body = "{\"paging\": {\"next\": {\"page\": 3}}, \"rows\": [{\"id\": \"1\"}]}";
+
+        assertEquals("3", mapper.streamPage(body, 1L, record -> { }));
+    }
+
+    @Test
+    void streamPageHonoursNullLinksNextOverPagingToken() {
+        String body = "{\"rows\": [], \"paging\": {\"next_page_token\": \"stale\"}, \"links\": {\"next\": null}}";
+
+        assertNull(mapper.streamPage(body, 1L, record -> { }));
+    }
+
+    @Test
+    void mapPageEmitsFlightRecorderEvent() throws IOException {
+        Path dump = Files.createTempFile("page-parse", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.identicum.connectors.indico.PageParse");
+            recording.start();
+            mapper.mapPage("[{\"id\": \"A\"}, {\"id\": \"B\"}]", 5L);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        Files.delete(dump);
+        assertEquals(1, events.size());
+        assertEquals(5L, events.get(0).getLong("eventId"));
+        assertEquals(2, events.get(0).getInt("records"));
+        assertFalse(events.get(0).getBoolean("streamed"));
+    }
+
+    @Test
+    void mapPageAcceptsRootArrayAndSingleObject() {
+        RegistrationPage array = mapper.mapPage("[{\"id\": \"A\"}, {\"id\": \"B\"}]", 1L);
+        assertEquals(2, array.getRecords().size());
+        assertNull(array.getNextPageToken());
+
+        RegistrationPage single = mapper.mapPage("{\"id\": \"C\", \"email\": \"c@example.org\", \"next\": \"n2\"}", 1L);
+        assertEquals(1, single.getRecords().size());
+        assertEquals("c@example.org", single.getRecords().get(0).getEmail());
+        assertTrue(single.hasNextPage());
+    }
+
+    @Test
+    void nextTokenPrefersLinksOverPaging() {
+        RegistrationPage page = mapper.mapPage(
+                "{\"registrants\": [], \"paging\": {\"next_page_token\": \"p\"}, \"links\": {\"next\": \"l\"}}", 1L);
+        assertEquals("l", page.getNextPageToken());
+    }
+
+    @Test
+    void planSkipsUnrequestedFieldsAndAttributes() throws IOException {
+        String body = "{\"registrants\": [{\"id\": \"R1\", \"state\": \"complete\", \"paid\": true,"
+                + " \"modification_date\": \"2024-01-01\", \"person\": {\"email\": \"a@example.org\", \"first_name\": \"A\"}}]}";
+        AttributePlan plan = AttributePlan.of(new String[]{"email"}, java.util.Set.of(RecordAttribute.STATE));
+
+        RegistrationRecord record = mapper.mapPage(
+                new java.io.ByteArrayInputStream(body.getBytes(java.nio.charset.StandardCharsets.UTF_8)), 4L, plan)
+                .getRecords().get(0);
+        org.identityconnectors.framework.common.objects.ConnectorObject object = mapper.toConnectorObject(record, plan);
+
+        assertEquals("a@example.org", record.getEmail());
+        assertEquals("complete", record.getState());
+        assertNull(record.getPaid());
+        assertNull(record.getModifiedDate());
+        assertNull(record.getFirstName());
+        assertEquals("R1", object.getUid().getUidValue());
+        assertEquals("a@example.org", object.getAttributeByName("email").getValue().get(0));
+        assertNull(object.getAttributeByName("state"));
+        assertNull(object.getAttributeByName("eventId"));
+        assertEquals(3, object.getAttributes().size());
+    }
+
+    @Test
+    void planWithoutProjectionEmitsEveryAttribute() {
+        assertEquals(AttributePlan.ALL, AttributePlan.of(null, java.util.Set.of(RecordAttribute.STATE)));
+        RegistrationRecord record = mapper.mapPage("{\"id\": \"R1\", \"state\": \"complete\"}", 2L).getRecords().get(0);
+        assertEquals(4, mapper.toConnectorObject(record).getAttributes().size());
+    }
+
+    @Test
+    void malformedPayloadFails() {
+        assertThrows(IllegalStateException.class, () -> mapper.mapPage("{\"registrants\": [", 1L));
+    }
+}
@@ -0,0 +1,56 @@
+package com.identicum.connectors.indico.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import org.junit.jupiter.api.Test;
+
+class IndicoMetricsTest {
+
+    @Test
+    void countersAreExposedThroughTheRegisteredMBean() throws Exception {
+        IndicoMetrics metrics = IndicoMetrics.forAddress("https://metrics.test/");
+        assertSame(metrics, IndicoMetrics.forAddress("https://metrics.test/"));
+        metrics.reset();
+
+        metrics.onResponse(200, TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.onResponse(503, TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.onIoError();
+        metrics.onRetry();
+        metrics.onBytes(2_048L);
+        metrics.onPage();
+        metrics.onRecordMapped();
+        metrics.onSearch(TimeUnit.MILLISECONDS.toNanos(30), TimeUnit.MILLISECONDS.toNanos(70));
+        metrics.bindGauges(() -> 12.5, () -> "CLOSED");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        javax.management.ObjectName name = IndicoMetrics.objectName("https://metrics.test/");
+        assertEquals(3L, server.getAttribute(name, "RequestCount"));
+        assertEquals(1L, server.getAttribute(name, "Status2xxCount"));
+        assertEquals(1L, server.getAttribute(name, "Status5xxCount"));
+        assertEquals(1L, server.getAttribute(name, "IoErrorCount"));
+        assertEquals(1L, server.getAttribute(name, "RetryCount"));
+        assertEquals(2_048L, server.getAttribute(name, "BytesReceived"));
+        assertEquals(1L, server.getAttribute(name, "PagesFetched"));
+        assertEquals(1L, server.getAttribute(name, "RecordsMapped"));
+        assertEquals(30L, server.getAttribute(name, "SearchFetchMillis"));
+        assertEquals(70L, server.getAttribute(name, "SearchHandlerMillis"));
+        assertEquals(12.5, server.getAttribute(name, "AllowedRequestsPerSecond"));
+        assertEquals("CLOSED", server.getAttribute(name, "CircuitState"));
+        assertEquals(5.0, (Double) server.getAttribute(name, "LatencyP50Millis"), 1.5);
+    }
+
+    @Test
+    void rateIsComputedOverTheReadInterval() {
+        RateMeter meter = new RateMeter();
+        long start = System.nanoTime();
+        meter.ratePerSecond(start + TimeUnit.SECONDS.toNanos(1));
+
+        meter.mark(50L);
+
+        assertEquals(25.0, meter.ratePerSecond(start + TimeUnit.SECONDS.toNanos(3)), 0.5);
+    }
+}
@@ -0,0 +1,39 @@
+package com.identicum.connectors.indico.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsBoundTheRecordedValue() {
+        for (long micros : new long[]{0L, 1L, 3L, 4L, 7L, 8L, 9L, 1_000L, 123_456L, 1L << 30}) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(LatencyHistogram.upperBoundMicros(index) >= micros, "upper bound of " + micros);
+            assertTrue(index == 0 || LatencyHistogram.upperBoundMicros(index - 1) < micros
+                    || LatencyHistogram.upperBoundMicros(index - 1) < LatencyHistogram.upperBoundMicros(index));
+            assertTrue(LatencyHistogram.upperBoundMicros(index) <= micros * 1.25 + 1, "precision at " + micros);
+        }
+    }
+
+    @Test
+    void percentilesFollowTheDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(200));
+        }
+
+        assertEquals(10.0, histogram.percentileMillis(0.50), 2.5);
+        assertEquals(200.0, histogram.percentileMillis(0.95), 50.0);
+        assertEquals(200.0, histogram.percentileMillis(0.99), 50.0);
+
+        histogram.reset();
+        assertEquals(0.0, histogram.percentileMillis(0.99));
+    }
+}
@@ -0,0 +1,136 @@
+package com.identicum.connectors.indico.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.identicum.connectors.indico.IndicoFilter;
+import com.identicum.connectors.indico.mapper.RecordAttribute;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRegistryTest {
+
+    @Test
+    void indexesRecordsByIdEmailAndState() {
+        EventReplica replica = new EventReplica(List.of(
+                record("1", "Alice@Example.org", "complete"),
+                record("2", "bob@example.org", "pending"),
+                record("3", "alice@example.org", "complete")), 0L);
+
+        assertEquals("2", replica.findById("2").getRegistrationId());
+        assertNull(replica.findById("4"));
+        assertEquals(2, replica.findByEmail("ALICE@example.org").size());
+        assertEquals(2, replica.findByState("Complete").size());
+        assertEquals(1, replica.select("3", "alice@example.org").size());
+        assertTrue(replica.select("2", "alice@example.org").isEmpty());
+        assertEquals(3, replica.select(null, null).size());
+    }
+
+    @Test
+    void selectsCandidatesFromTheNarrowestIndex() {
+        RegistrationRecord early = record("1", "a@example.org", "complete");
+        early.setCreatedDate("2024-01-05T10:00:00");
+        early.setPaid(true);
+        RegistrationRecord middle = record("2", "b@example.org", "complete");
+        middle.setCreatedDate("2024-02-01T00:00:00Z");
+        middle.setPaid(false);
+        RegistrationRecord late = record("3", "c@example.org", "pending");
+        late.setCreatedDate("2024-03-01");
+        late.setPaid(true);
+        RegistrationRecord undated = record("4", "d@example.org", "pending");
+        EventReplica replica = new EventReplica(List.of(late, undated, middle, early), 0L);
+
+        IndicoFilter byState = new IndicoFilter();
+        byState.setState("Pending");
+        IndicoFilter byRange = new IndicoFilter();
+        byRange.setDateRange(new IndicoFilter.DateRange(RecordAttribute.CREATED_DT,
+                "2024-01-01T00:00:00", true, "2024-02-01T00:00:00", true));
+        IndicoFilter byRangeAndPaid = new IndicoFilter();
+        byRangeAndPaid.setPaid(true);
+        byRangeAndPaid.setDateRange(new IndicoFilter.DateRange(RecordAttribute.CREATED_DT,
+                "2024-02-01T00:00:00", false, null, false));
+
+        assertEquals(List.of(late, undated), replica.select(byState));
+        assertEquals(List.of(early, middle), replica.select(byRange));
+        assertEquals(List.of(late), replica.select(byRangeAndPaid));
+        assertEquals(List.of(late, early), replica.findByPaid(true));
+        assertEquals(4, replica.select((IndicoFilter) null).size());
+    }
+
+    @Test
+    void unparseableDatesDisableTheRangeIndex() {
+        RegistrationRecord odd = record("1", null, null);
+        odd.setModifiedDate("yesterday");
+        EventReplica replica = new EventReplica(List.of(odd), 0L);
+
+        assertNull(replica.findInRange(new IndicoFilter.DateRange(RecordAttribute.MODIFIED_DT, "2024-01-01", true,
+                null, false)));
+        assertEquals(List.of(), replica.findInRange(new IndicoFilter.DateRange(RecordAttribute.CREATED_DT,
+                "2024-01-01", true, null, false)));
+    }
+
+    @Test
+    void evictsSnapshotsPastTheirStalenessBound() {
+        ReplicaRegistry registry = new ReplicaRegistry(0L);
+        AtomicInteger loads = new AtomicInteger();
+
+        registry.replica("kept", 60_000L, 120_000L, () -> snapshot(loads), Runnable::run);
+        registry.replica("stale", 0L, 0L, () -> snapshot(loads), Runnable::run);
+        assertEquals(2, registry.size());
+
+        registry.replica("kept", 60_000L, 120_000L, () -> snapshot(loads), Runnable::run);
+
+        assertEquals(1, registry.size());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void servesFreshSnapshotWithoutReloading() {
+        ReplicaRegistry registry = new ReplicaRegistry();
+        AtomicInteger loads = new AtomicInteger();
+
+        EventReplica first = registry.replica("k", 60_000L, 120_000L, () -> snapshot(loads), Runnable::run);
+        EventReplica second = registry.replica("k", 60_000L, 120_000L, () -> snapshot(loads), Runnable::run);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void refreshesInBackgroundAndReloadsBeyondStaleness() throws InterruptedException {
+        ReplicaRegistry registry = new ReplicaRegistry();
+        AtomicInteger loads = new AtomicInteger();
+        EventReplica initial = registry.replica("k", 0L, 60_000L, () -> snapshot(loads), Runnable::run);
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        EventReplica served = registry.replica("k", 0L, 60_000L, () -> snapshot(loads), task -> new Thread(() -> {
+            task.run();
+            refreshed.countDown();
+        }).start());
+        assertSame(initial, served);
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+
+        registry.replica("k", 0L, 0L, () -> snapshot(loads), task -> { });
+        assertEquals(3, loads.get());
+    }
+
+    private static EventReplica snapshot(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new EventReplica(List.of(record("1", null, null)), System.currentTimeMillis());
+    }
+
+    private static RegistrationRecord record(String id, String email, String state) {
+        RegistrationRecord record = new RegistrationRecord();
+        record.setRegistrationId(id);
+        record.setEmail(email);
+        record.setState(state);
+        return record;
+    }
+}
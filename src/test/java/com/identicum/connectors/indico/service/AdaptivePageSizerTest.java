@@ -0,0 +1,60 @@
+package com.identicum.connectors.indico.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptivePageSizerTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void halvesAfterSlowOrHeavyPagesAndDoublesAfterLightOnes() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer("http://indico.test", 200, 50, 800, 1_000L, 1_000_000L);
+
+        sizer.onPage(200, 200, 1_500 * MILLI, 10_000L);
+        assertEquals(100, sizer.currentSize());
+        sizer.onPage(100, 100, 100 * MILLI, 2_000_000L);
+        assertEquals(50, sizer.currentSize());
+        sizer.onPage(50, 50, 100 * MILLI, 10_000L);
+        assertEquals(100, sizer.currentSize());
+        sizer.onPage(100, 100, 600 * MILLI, 10_000L);
+        assertEquals(100, sizer.currentSize());
+    }
+
+    @Test
+    void staysWithinBoundsAndIgnoresShortPages() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer("http://indico.test", 400, 50, 500, 1_000L, 1_000_000L);
+
+        sizer.onPage(400, 12, 5_000 * MILLI, 10_000L);
+        assertEquals(400, sizer.currentSize());
+        sizer.onPage(400, 400, 10 * MILLI, 1_000L);
+        assertEquals(500, sizer.currentSize());
+        sizer.onPage(40, 40, 10_000 * MILLI, 1_000L);
+        assertEquals(50, sizer.currentSize());
+    }
+
+    @Test
+    void realignsPageNumbersOnlyWhenTheOffsetFitsTheNewSize() {
+        assertEquals("5", AdaptivePageSizer.realign("3", 200, 100));
+        assertEquals("2", AdaptivePageSizer.realign("3", 100, 200));
+        assertNull(AdaptivePageSizer.realign("2", 100, 200));
+        assertEquals("opaque-cursor", AdaptivePageSizer.realign("opaque-cursor", 100, 200));
+    }
+
+    @Test
+    void queryAdoptsTheCurrentSizeOnTheNextPage() {
+        AdaptivePageSizer sizer = new AdaptivePageSizer("http://indico.test", 100, 25, 400, 1_000L, 1_000_000L);
+        RegistrationQuery first = new RegistrationQuery(1L, null, null, 100, null).withPageSizer(sizer);
+
+        sizer.onPage(100, 100, 2_000 * MILLI, 0L);
+        RegistrationQuery second = first.nextPage("2");
+
+        assertEquals(50, second.getLimit());
+        assertEquals("3", second.getPageToken());
+        RegistrationQuery fixed = new RegistrationQuery(1L, null, null, 100, null).nextPage("2");
+        assertEquals(100, fixed.getLimit());
+        assertEquals("2", fixed.getPageToken());
+    }
+}
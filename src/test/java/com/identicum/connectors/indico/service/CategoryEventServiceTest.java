@@ -0,0 +1,113 @@
+package com.identicum.connectors.indico.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.identicum.connectors.indico.IndicoAuthenticator;
+import com.identicum.connectors.indico.IndicoConfiguration;
+import com.identicum.connectors.indico.http.IndicoHttpClient;
+import com.identicum.connectors.indico.mapper.EventMapper;
+import com.identicum.connectors.indico.model.EventSummary;
+import java.util.List;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class CategoryEventServiceTest {
+
+    @RegisterExtension
+    static WireMockExtension server = WireMockExtension.newInstance().configureStaticDsl(true).build();
+
+    private IndicoHttpClient client;
+    private CategoryEventCache cache;
+
+    @BeforeEach
+    void setup(WireMockRuntimeInfo runtimeInfo) {
+        IndicoConfiguration configuration = new IndicoConfiguration();
+        configuration.setServiceAddress(runtimeInfo.getHttpBaseUrl());
+        configuration.setAuthStrategy(IndicoConfiguration.AuthStrategy.TOKEN);
+        configuration.setApiToken(new GuardedString("token".toCharArray()));
+        configuration.setRetryMax(0);
+        configuration.setConnectTimeoutMs(1_000);
+        configuration.setReadTimeoutMs(1_000);
+        configuration.validate();
+        client = new IndicoHttpClient(configuration, new IndicoAuthenticator(configuration));
+        cache = new CategoryEventCache();
+    }
+
+    @AfterEach
+    void closeClient() {
+        client.close();
+    }
+
+    @Test
+    void listEventsPagesThroughCategoryExportAndCaches() {
+        stubFor(get(urlPathEqualTo("/export/categ/5.json"))
+                .withQueryParam("offset", WireMock.equalTo("0"))
+                .willReturn(ok().withBody("{\"count\": 2, \"results\": ["
+                        + "{\"id\": \"10\", \"title\": \"Kick-off\", \"category\": \"Physics\","
+                        + " \"modificationDate\": {\"date\": \"2024-01-01\", \"time\": \"08:00:00\", \"tz\": \"UTC\"}},"
+                        + "{\"id\": 11, \"title\": \"Workshop\", \"category\": \"Physics/Labs\"}]}")));
+        stubFor(get(urlPathEqualTo("/export/categ/5.json"))
+                .withQueryParam("offset", WireMock.equalTo("2"))
+                .willReturn(ok().withBody("{\"results\": [{\"id\": \"12\", \"category\": \"Physics\"}]}")));
+
+        CategoryEventService service = new CategoryEventService(client, new EventMapper(), cache, "scope", 60_000L, 2);
+        List<EventSummary> events = service.listEvents(5L);
+        List<EventSummary> cached = service.listEvents(5L);
+
+        assertEquals(3, events.size());
+        assertEquals(10L, events.get(0).getEventId());
+        assertEquals("2024-01-01T08:00:00", events.get(0).getModifiedDate());
+        assertEquals("Physics/Labs", events.get(1).getCategoryPath());
+        assertSame(events, cached);
+        verify(2, getRequestedFor(urlPathEqualTo("/export/categ/5.json")));
+    }
+
+    @Test
+    void expiredListingIsReadAgain() {
+        stubFor(get(urlPathEqualTo("/export/categ/6.json"))
+                .willReturn(ok().withBody("{\"results\": [{\"id\": 20, \"modificationDate\": \"2024-02-01\"}]}")));
+
+        CategoryEventService service = new CategoryEventService(client, new EventMapper(), cache, "scope", 0L, 100);
+        service.listEvents(6L);
+
+        assertEquals(20L, service.listEvents(6L).get(0).getEventId());
+        verify(2, getRequestedFor(urlPathEqualTo("/export/categ/6.json")));
+    }
+
+    @Test
+    void missingPageSizeFallsBackToTheDefault() {
+        stubFor(get(urlPathEqualTo("/export/categ/7.json"))
+                .withQueryParam("limit", WireMock.equalTo(String.valueOf(CategoryEventService.DEFAULT_PAGE_SIZE)))
+                .willReturn(ok().withBody("{\"results\": [{\"id\": 30}]}")));
+
+        CategoryEventService service = new CategoryEventService(client, new EventMapper(), cache, "scope", 0L, null);
+
+        assertEquals(1, service.listEvents(7L).size());
+    }
+
+    @Test
+    void listingThatIgnoresOffsetFailsInsteadOfLooping() {
+        stubFor(get(urlPathEqualTo("/export/categ/8.json"))
+                .willReturn(ok().withBody("{\"results\": [{\"id\": 40}, {\"id\": 41}]}")));
+
+        CategoryEventService service = new CategoryEventService(client, new EventMapper(), cache, "scope", 0L, 2);
+
+        assertThrows(ConnectorIOException.class, () -> service.listEvents(8L));
+        verify(2, getRequestedFor(urlPathEqualTo("/export/categ/8.json")));
+    }
+}
@@ -0,0 +1,52 @@
+package com.identicum.connectors.indico.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.identicum.connectors.indico.model.RegistrationPage;
+import com.identicum.connectors.indico.model.RegistrationRecord;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RegistrationPageCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+        RegistrationPageCache cache = new RegistrationPageCache();
+        cache.configure(2, Long.MAX_VALUE);
+        cache.put("a", page("A"));
+        cache.put("b", page("B"));
+        assertNotNull(cache.get("a", 60_000L));
+        cache.put("c", page("C"));
+
+        assertNull(cache.get("b", 60_000L));
+        assertNotNull(cache.get("a", 60_000L));
+        assertNotNull(cache.get("c", 60_000L));
+        RegistrationPageCache.Statistics statistics = cache.statistics();
+        assertEquals(3, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getEvictions());
+    }
+
+    @Test
+    void enforcesByteBudgetAndTtl() {
+        RegistrationPageCache cache = new RegistrationPageCache();
+        long pageSize = RegistrationPageCache.estimateSize(page("A"));
+        cache.configure(100, pageSize * 2);
+        cache.put("a", page("A"));
+        cache.put("b", page("B"));
+        cache.put("c", page("C"));
+
+        assertEquals(2, cache.statistics().getEntries());
+        assertNull(cache.get("a", 60_000L));
+        assertNull(cache.get("b", -1L));
+    }
+
+    private RegistrationPage page(String id) {
+        RegistrationRecord record = new RegistrationRecord();
+        record.setRegistrationId(id);
+        record.setEmail(id.toLowerCase() + "@example.org");
+        return new RegistrationPage(List.of(record), null);
+    }
+}
@@ -2,10 +2,13 @@ package com.identicum.connectors.indico.service;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
@@ -15,12 +18,21 @@ import com.identicum.connectors.indico.IndicoAuthenticator;
 import com.identicum.connectors.indico.IndicoConfiguration;
 import com.identicum.connectors.indico.http.IndicoHttpClient;
 import com.identicum.connectors.indico.mapper.RegistrationMapper;
+import com.identicum.connectors.indico.metrics.SearchTrace;
 import com.identicum.connectors.indico.model.RegistrationPage;
 import com.identicum.connectors.indico.model.RegistrationRecord;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -31,6 +43,7 @@ class RegistrationServiceTest {
     static WireMockExtension server = WireMockExtension.newInstance().configureStaticDsl(true).build();
 
     private RegistrationService registrationService;
+    private IndicoHttpClient client;
 
     @BeforeEach
     void setup(WireMockRuntimeInfo runtimeInfo) {
@@ -43,10 +56,15 @@ class RegistrationServiceTest {
         configuration.setConnectTimeoutMs(1_000);
         configuration.setReadTimeoutMs(1_000);
         configuration.validate();
-        IndicoHttpClient client = new IndicoHttpClient(configuration, new IndicoAuthenticator(configuration));
+        client = new IndicoHttpClient(configuration, new IndicoAuthenticator(configuration));
         registrationService = new RegistrationService(client, new RegistrationMapper());
     }
 
+    @AfterEach
+    void closeClient() {
+        client.close();
+    }
+
     @Test
     void fetchRegistrationsMapsRecords() throws IOException {
         String body = Files.readString(Path.of("src/test/resources/fixtures/registrations_page1.json"));
@@ -74,4 +92,156 @@ class RegistrationServiceTest {
         RegistrationPage page = registrationService.fetchRegistrations(new RegistrationQuery(1L, null, "alice@example.org", null, null));
         assertEquals(2, page.getRecords().size());
     }
+
+    @Test
+    void fetchRegistrationsSendsLookupValuesWithPaging() throws IOException {
+        String body = Files.readString(Path.of("src/test/resources/fixtures/registrations_page2.json"));
+        stubFor(get(urlPathEqualTo("/export/registrants/1.json"))
+                .withQueryParam("registration_id", WireMock.equalTo("R2"))
+                .withQueryParam("email", WireMock.equalTo("a+b@example.org"))
+                .withQueryParam("limit", WireMock.equalTo("5"))
+                .willReturn(ok().withBody(body)));
+
+        RegistrationPage page = registrationService.fetchRegistrations(
+                new RegistrationQuery(1L, "R2", "a+b@example.org", 5, null));
+
+        assertEquals(2, page.getRecords().size());
+    }
+
+    @Test
+    void fetchRegistrationsReusesCachedPages() throws IOException {
+        String body = Files.readString(Path.of("src/test/resources/fixtures/registrations_page1.json"));
+        stubFor(get(urlPathEqualTo("/export/registrants/3.json")).willReturn(ok().withBody(body)));
+        RegistrationService cached = new RegistrationService(client, new RegistrationMapper(), new RegistrationPageCache(),
+                "scope", 60_000L);
+        RegistrationQuery query = new RegistrationQuery(3L, null, null, 2, null);
+
+        RegistrationPage first = cached.fetchRegistrations(query);
+        RegistrationPage second = cached.fetchRegistrations(query);
+        cached.fetchRegistrations(query.bypassCache());
+
+        assertEquals(first, second);
+        verify(2, getRequestedFor(urlPathEqualTo("/export/registrants/3.json")));
+    }
+
+    @Test
+    void traceCountsCachedPagesToo() throws IOException {
+        String body = Files.readString(Path.of("src/test/resources/fixtures/registrations_page1.json"));
+        stubFor(get(urlPathEqualTo("/export/registrants/4.json")).willReturn(ok().withBody(body)));
+        RegistrationService cached = new RegistrationService(client, new RegistrationMapper(), new RegistrationPageCache(),
+                "scope", 60_000L);
+        SearchTrace trace = new SearchTrace();
+        RegistrationQuery query = new RegistrationQuery(4L, null, null, 2, null).withTrace(trace);
+
+        cached.fetchRegistrations(query);
+        cached.fetchRegistrations(query.nextPage(null));
+        cached.fetchRegistrationsAsync(query).join();
+
+        assertEquals(3L, trace.pages());
+        assertTrue(trace.summary().contains("pages=3"), trace.summary());
+    }
+
+    @Test
+    void adaptivePagingShrinksTheLimitAfterAHeavyPage() {
+        stubFor(get(urlPathEqualTo("/export/registrants/6.json"))
+                .withQueryParam("limit", WireMock.equalTo("2"))
+                .willReturn(ok().withBody("{\"registrants\": [{\"id\": \"A\"}, {\"id\": \"B\"}],"
+                        + " \"paging\": {\"next_page_token\": \"2\"}}")));
+        AdaptivePageSizer sizer = new AdaptivePageSizer("http://indico.test", 2, 1, 8, 60_000L, 10L);
+        RegistrationQuery query = new RegistrationQuery(6L, null, null, 2, null).withPageSizer(sizer);
+
+        RegistrationPage page = registrationService.fetchRegistrations(query);
+        RegistrationQuery next = query.nextPage(page.getNextPageToken());
+
+        assertEquals(1, sizer.currentSize());
+        assertEquals(1, next.getLimit());
+        assertEquals("3", next.getPageToken());
+    }
+
+    @Test
+    void publisherStreamsEveryPageAsynchronously() throws IOException {
+        stubPages(1L);
+
+        List<String> ids = new ArrayList<>();
+        try (BlockingRecordSubscriber records = new BlockingRecordSubscriber(2)) {
+            registrationService.publish(new RegistrationQuery(1L, null, null, 2, null), List.of(1L), 1).subscribe(records);
+            RegistrationRecord record;
+            while ((record = records.next()) != null) {
+                ids.add(record.getRegistrationId());
+            }
+        }
+
+        assertEquals(List.of("R1", "R2", "R3"), ids);
+    }
+
+    @Test
+    void publisherOnlyFetchesPagesTheSubscriberAskedFor() throws Exception {
+        stubPages(1L);
+        List<RegistrationRecord> received = new ArrayList<>();
+        CountDownLatch first = new CountDownLatch(1);
+
+        registrationService.publish(new RegistrationQuery(1L, null, null, 2, null), List.of(1L), 1)
+                .subscribe(new Flow.Subscriber<RegistrationRecord>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(RegistrationRecord item) {
+                        received.add(item);
+                        first.countDown();
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200L);
+        assertEquals(1, received.size());
+        verify(1, getRequestedFor(urlPathEqualTo("/export/registrants/1.json")));
+    }
+
+    @Test
+    void publisherStreamsHealthyEventsThenFailsNamingTheFailedOne() throws IOException {
+        stubPages(1L);
+        stubFor(get(urlPathEqualTo("/export/registrants/9.json")).willReturn(aResponse().withStatus(404)));
+
+        List<String> ids = new ArrayList<>();
+        ConnectorIOException failure;
+        try (BlockingRecordSubscriber records = new BlockingRecordSubscriber(16)) {
+            registrationService.publish(new RegistrationQuery(1L, null, null, 2, null), List.of(9L, 1L), 2).subscribe(records);
+            failure = assertThrows(ConnectorIOException.class, () -> {
+                RegistrationRecord record;
+                while ((record = records.next()) != null) {
+                    ids.add(record.getRegistrationId());
+                }
+            });
+        }
+        assertEquals(3, ids.size());
+        assertTrue(failure.getMessage().startsWith("Could not fetch the registrants of 1 of 2 events: 9 ("),
+                failure.getMessage());
+        assertTrue(failure.getCause() instanceof UnknownUidException);
+
+        BlockingRecordSubscriber failing = new BlockingRecordSubscriber(16);
+        registrationService.publish(new RegistrationQuery(9L, null, null, 2, null), List.of(9L), 1).subscribe(failing);
+        assertThrows(UnknownUidException.class, failing::next);
+    }
+
+    private static void stubPages(long eventId) throws IOException {
+        String path = "/export/registrants/" + eventId + ".json";
+        stubFor(get(urlPathEqualTo(path))
+                .withQueryParam("limit", WireMock.equalTo("2"))
+                .withQueryParam("page", WireMock.absent())
+                .willReturn(ok().withBody(Files.readString(Path.of("src/test/resources/fixtures/registrations_page1.json")))));
+        stubFor(get(urlPathEqualTo(path))
+                .withQueryParam("page", WireMock.equalTo("2"))
+                .willReturn(ok().withBody(Files.readString(Path.of("src/test/resources/fixtures/registrations_page2.json")))));
+    }
 }
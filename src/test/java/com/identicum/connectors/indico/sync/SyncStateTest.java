@@ -0,0 +1,41 @@
+package com.identicum.connectors.indico.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.junit.jupiter.api.Test;
+
+class SyncStateTest {
+
+    @Test
+    void seenIdsHandleNumericAndTextualIdentifiers() {
+        SeenIds numeric = SeenIds.builder().add("30").add("10").add("20").add("10").build();
+        assertEquals(3, numeric.size());
+        assertTrue(numeric.contains("20"));
+        assertFalse(numeric.contains("020"));
+
+        SeenIds mixed = SeenIds.builder().add("10").add("020").add("abc").build();
+        assertTrue(mixed.contains("10"));
+        assertTrue(mixed.contains("020"));
+        assertEquals(List.of("20", "30"), numeric.missingFrom(mixed));
+    }
+
+    @Test
+    void tokensRoundTripWatermarks() {
+        Map<Long, String> watermarks = new LinkedHashMap<>();
+        watermarks.put(1L, "2024-01-11T12:00:00+01:00");
+        watermarks.put(2L, null);
+
+        SyncToken token = SyncTokens.encode(watermarks);
+
+        assertEquals(watermarks, SyncTokens.decode(token));
+        assertTrue(SyncTokens.decode(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> SyncTokens.decode(new SyncToken("garbage")));
+    }
+}